@@ -0,0 +1,69 @@
+package duke;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Saved files and temporary directories for the benchmarks.
+ */
+public class BenchmarkData {
+
+    /** The name of the saved file in every benchmark directory */
+    public static final String FILE = "duke.txt";
+
+    /**
+     * Returns the saved file lines of a list of tasks, cycling through todos, deadlines and events.
+     * Every fourth task is done.
+     * @param size The number of tasks.
+     * @return The saved file lines.
+     */
+    public static List<String> savedLines(int size) {
+        List<String> lines = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            String done = i % 4 == 0 ? "1" : "0";
+            switch (i % 3) {
+            case 0:
+                lines.add("T | " + done + " | read book number " + i);
+                break;
+            case 1:
+                lines.add("D | " + done + " | return book " + i + " | 2021-09-" + (10 + i % 19) + "T18:00");
+                break;
+            default:
+                lines.add("E | " + done + " | project meeting " + i + " | 2021-10-" + (10 + i % 19) + "T09:30");
+                break;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Returns a new temporary directory holding a saved file of the given size.
+     * @param size The number of tasks in the saved file.
+     * @return The temporary directory.
+     * @throws IOException When the directory or file cannot be written.
+     */
+    public static Path newDirectory(int size) throws IOException {
+        Path directory = Files.createTempDirectory("duke-jmh");
+        Files.write(directory.resolve(FILE), savedLines(size), StandardCharsets.UTF_8);
+        return directory;
+    }
+
+    /**
+     * Deletes a temporary directory and everything in it.
+     * @param directory The temporary directory.
+     * @throws IOException When the directory cannot be deleted.
+     */
+    public static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
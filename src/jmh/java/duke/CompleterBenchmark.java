@@ -0,0 +1,90 @@
+package duke;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of completing one keystroke of input, which should stay well under a millisecond.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class CompleterBenchmark {
+
+    private static final int LIMIT = 8;
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private Completer completer;
+    private Task task;
+
+    /**
+     * Fills a completer with the descriptions of a task list of the benchmarked size.
+     * @throws DukeException Never, as the lines are valid.
+     */
+    @Setup
+    public void setUp() throws DukeException {
+        List<Task> tasks = new ArrayList<>(size);
+        for (String line : BenchmarkData.savedLines(size)) {
+            tasks.add(Parser.parseSavedFile(line));
+        }
+        completer = new Completer();
+        completer.accept(TaskChange.loaded(tasks));
+        task = new Todo("read book again");
+    }
+
+    /**
+     * Completes a command keyword.
+     * @return The completions.
+     */
+    @Benchmark
+    public List<String> completeCommand() {
+        return completer.complete("de", LIMIT);
+    }
+
+    /**
+     * Completes a description matched by many tasks.
+     * @return The completions.
+     */
+    @Benchmark
+    public List<String> completeDescription() {
+        return completer.complete("find return book 1", LIMIT);
+    }
+
+    /**
+     * Completes a description matched by no task.
+     * @return The completions.
+     */
+    @Benchmark
+    public List<String> completeNothing() {
+        return completer.complete("find zebra", LIMIT);
+    }
+
+    /**
+     * Follows a task being added and removed again.
+     * @return The completer.
+     */
+    @Benchmark
+    public Completer addAndRemove() {
+        completer.accept(TaskChange.added(size, task));
+        completer.accept(TaskChange.removed(size, task));
+        return completer;
+    }
+}
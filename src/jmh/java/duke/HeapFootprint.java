@@ -0,0 +1,123 @@
+package duke;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.vm.VM;
+
+import duke.workload.WorkloadGenerator;
+
+/**
+ * Measures the retained heap of a TaskList of the tasks loaded by Storage.load(), per task type and list size.
+ *
+ * <p>Usage: {@code ./gradlew footprint -PfootprintArgs="1000 10000 100000 1000000"}</p>
+ *
+ * <p>The bytes per task are broken down into the task objects themselves, their description Strings,
+ * their LocalDateTimes and date Strings, their folded search keys, the TaskList holding them, and the
+ * fileContents mirror kept by Storage. A search key is only counted when it is not the description itself.
+ * Objects shared between tasks, such as cached LocalTimes, are counted once in the total,
+ * so the parts may add up to slightly more than the total.</p>
+ */
+public class HeapFootprint {
+
+    private static final String[] TYPES = {"T", "D", "E"};
+
+    /**
+     * Entry point of the measurement.
+     * @param args The list sizes to be measured.
+     * @throws IOException When the saved files cannot be written.
+     * @throws DukeException When the saved files cannot be loaded.
+     */
+    public static void main(String[] args) throws IOException, DukeException {
+        int[] sizes = args.length == 0 ? new int[] {1000, 10000, 100000} : new int[args.length];
+        for (int i = 0; i < args.length; ++i) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+
+        System.out.println(VM.current().details());
+        System.out.printf("%-4s %9s %9s | %8s %8s %8s %8s %8s %8s %8s%n", "type", "tasks", "total/task",
+                "task", "descr", "dateTime", "dateStr", "searchKey", "list", "fileMirror");
+        for (String type : TYPES) {
+            for (int size : sizes) {
+                System.out.println(measure(type, size));
+            }
+        }
+    }
+
+    /**
+     * Returns a line of the bytes per task of a list of one task type.
+     * @param type The task type: T, D or E.
+     * @param size The number of tasks.
+     * @return A line of the report.
+     * @throws IOException When the saved file cannot be written.
+     * @throws DukeException When the saved file cannot be loaded.
+     */
+    private static String measure(String type, int size) throws IOException, DukeException {
+        Path directory = BenchmarkData.newDirectory(0);
+        try {
+            new WorkloadGenerator(size, 24, 10).writeTasks(directory.resolve(BenchmarkData.FILE), size,
+                    Map.of(type, 1), 0.25);
+            Storage storage = new Storage(directory.toString(), BenchmarkData.FILE);
+            ArrayList<Task> tasks = storage.load();
+            // The task list folds the search keys of the tasks it is given.
+            TaskList taskList = new TaskList(tasks, storage);
+
+            long taskObjects = 0;
+            List<Object> descriptions = new ArrayList<>(size);
+            List<Object> dateTimes = new ArrayList<>(size);
+            List<Object> dateStrings = new ArrayList<>(size);
+            List<Object> searchKeys = new ArrayList<>(size);
+            for (Task task : tasks) {
+                taskObjects += VM.current().sizeOf(task);
+                descriptions.add(task.description);
+                if (task.searchKey != task.description) {
+                    searchKeys.add(task.searchKey);
+                }
+                if (task instanceof Deadline) {
+                    dateTimes.add(((Deadline) task).date);
+                    dateStrings.add(((Deadline) task).dateString);
+                } else if (task instanceof Event) {
+                    dateTimes.add(((Event) task).date);
+                    dateStrings.add(((Event) task).dateString);
+                }
+            }
+            long description = sizeOfElements(descriptions);
+            long dateTime = sizeOfElements(dateTimes);
+            long dateString = sizeOfElements(dateStrings);
+            long searchKey = sizeOfElements(searchKeys);
+            Object[] elements = tasks.toArray();
+            long elementsSize = GraphLayout.parseInstance(elements).totalSize() - VM.current().sizeOf(elements);
+            long fileMirror = GraphLayout.parseInstance(storage).totalSize();
+            long total = GraphLayout.parseInstance(taskList).totalSize();
+            long list = total - elementsSize - fileMirror;
+
+            return String.format("%-4s %9d %9.1f | %8.1f %8.1f %8.1f %8.1f %8.1f %8.1f %8.1f", type, size,
+                    perTask(total, size), perTask(taskObjects, size), perTask(description, size),
+                    perTask(dateTime, size), perTask(dateString, size), perTask(searchKey, size),
+                    perTask(list, size), perTask(fileMirror, size));
+        } finally {
+            BenchmarkData.delete(directory);
+        }
+    }
+
+    /**
+     * Returns the retained size of the elements of a list, without the list itself.
+     * @param objects The elements.
+     * @return The retained size in bytes.
+     */
+    private static long sizeOfElements(List<Object> objects) {
+        if (objects.isEmpty()) {
+            return 0;
+        }
+        Object[] array = objects.toArray();
+        return GraphLayout.parseInstance(array).totalSize() - VM.current().sizeOf(array);
+    }
+
+    private static double perTask(long bytes, int size) {
+        return size == 0 ? 0 : (double) bytes / size;
+    }
+}
@@ -0,0 +1,114 @@
+package duke;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import duke.command.Command;
+
+/**
+ * Benchmarks of parsing user inputs and saved file lines.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParserBenchmark {
+
+    private Path directory;
+    private Parser parser;
+
+    /**
+     * Creates a parser over an empty task list.
+     * @throws IOException When the temporary directory cannot be created.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        directory = BenchmarkData.newDirectory(0);
+        parser = new Parser(new TaskList(new Storage(directory.toString(), BenchmarkData.FILE)));
+    }
+
+    /**
+     * Deletes the temporary directory.
+     * @throws IOException When the temporary directory cannot be deleted.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkData.delete(directory);
+    }
+
+    /**
+     * Parses a user input, returning the exception for invalid inputs.
+     * @param userInput The user input to be parsed.
+     * @return The parsed command or the exception.
+     */
+    @Benchmark
+    public Object parseInput(UserInput userInput) {
+        try {
+            Command command = parser.parseInput(userInput.input);
+            return command;
+        } catch (DukeException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Parses a line of the saved file.
+     * @param saved The saved line to be parsed.
+     * @return The parsed task.
+     * @throws DukeException Never, as the lines are valid.
+     */
+    @Benchmark
+    public Task parseSavedFile(SavedLine saved) throws DukeException {
+        return Parser.parseSavedFile(saved.line);
+    }
+
+    /**
+     * A user input of each command type, and an invalid one.
+     */
+    @State(Scope.Benchmark)
+    public static class UserInput {
+        @Param({
+            "list",
+            "todo read book",
+            "deadline return book /by 2021-08-21 18:00",
+            "event project meeting /at 21/08/2021 1800",
+            "done 5",
+            "delete 5",
+            "find book",
+            "help",
+            "dates",
+            "bye",
+            "invalid input"
+        })
+        private String input;
+    }
+
+    /**
+     * A line of the saved file of each task type.
+     */
+    @State(Scope.Benchmark)
+    public static class SavedLine {
+        @Param({
+            "T | 0 | read book",
+            "D | 1 | return book | 2021-08-21T18:00",
+            "E | 0 | project meeting | 2021-08-21T09:30"
+        })
+        private String line;
+    }
+}
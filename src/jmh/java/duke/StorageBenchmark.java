@@ -0,0 +1,77 @@
+package duke;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of loading and committing the saved file in a temporary directory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class StorageBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private Path directory;
+    private Storage loadedStorage;
+
+    /**
+     * Writes a saved file of the benchmarked size and loads it once for the commit benchmark.
+     * @throws IOException When the temporary directory cannot be created.
+     * @throws DukeException When the saved file cannot be loaded.
+     */
+    @Setup
+    public void setUp() throws IOException, DukeException {
+        directory = BenchmarkData.newDirectory(size);
+        loadedStorage = new Storage(directory.toString(), BenchmarkData.FILE);
+        loadedStorage.load();
+    }
+
+    /**
+     * Deletes the temporary directory.
+     * @throws IOException When the temporary directory cannot be deleted.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkData.delete(directory);
+    }
+
+    /**
+     * Loads the whole saved file into tasks.
+     * @return The loaded tasks.
+     * @throws DukeException When the saved file cannot be loaded.
+     */
+    @Benchmark
+    public ArrayList<Task> load() throws DukeException {
+        return new Storage(directory.toString(), BenchmarkData.FILE).load();
+    }
+
+    /**
+     * Marks the first line done, which commits the whole file.
+     * @throws DukeException When the saved file cannot be written.
+     */
+    @Benchmark
+    public void commit() throws DukeException {
+        loadedStorage.markLineDone(0);
+    }
+}
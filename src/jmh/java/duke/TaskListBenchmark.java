@@ -0,0 +1,115 @@
+package duke;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the task list operations at different list sizes.
+ * Every change rewrites the saved file, so the changing benchmarks include the storage commit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class TaskListBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private Path directory;
+    private TaskList taskList;
+
+    /**
+     * Loads a task list of the benchmarked size.
+     * @throws IOException When the temporary directory cannot be created.
+     * @throws DukeException When the saved file cannot be loaded.
+     */
+    @Setup
+    public void setUp() throws IOException, DukeException {
+        directory = BenchmarkData.newDirectory(size);
+        Storage storage = new Storage(directory.toString(), BenchmarkData.FILE);
+        taskList = new TaskList(storage.load(), storage);
+    }
+
+    /**
+     * Deletes the temporary directory.
+     * @throws IOException When the temporary directory cannot be deleted.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkData.delete(directory);
+    }
+
+    /**
+     * Adds a task and removes it again, so the list keeps the benchmarked size.
+     * @return The result of removing the task.
+     * @throws DukeException When the saved file cannot be written.
+     */
+    @Benchmark
+    public CommandResult addAndRemoveItem() throws DukeException {
+        taskList.addItem(new Todo("benchmark task"));
+        return taskList.removeItem(size);
+    }
+
+    /**
+     * Marks the first task as done.
+     * @return The result of marking the task as done.
+     * @throws DukeException When the saved file cannot be written.
+     */
+    @Benchmark
+    public CommandResult markDone() throws DukeException {
+        return taskList.markDone(0);
+    }
+
+    /**
+     * Finds a keyword matching a third of the tasks.
+     * @return The matching tasks.
+     */
+    @Benchmark
+    public CommandResult find() {
+        return taskList.find("meeting");
+    }
+
+    /**
+     * Finds a keyword matching no task.
+     * @return The matching tasks.
+     */
+    @Benchmark
+    public CommandResult findNothing() {
+        return taskList.find("no such task");
+    }
+
+    /**
+     * Lists all the tasks without rendering them.
+     * @return All the tasks.
+     */
+    @Benchmark
+    public CommandResult getAllTask() {
+        return taskList.getAllTask();
+    }
+
+    /**
+     * Lists all the tasks and renders them as text, as the CLI and GUI do.
+     * @return The text of all the tasks.
+     */
+    @Benchmark
+    public String getAllTaskRendered() {
+        return Ui.render(taskList.getAllTask());
+    }
+}
@@ -0,0 +1,154 @@
+package gui;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXMLLoader;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of building and laying out one Duke message bubble.
+ * The fxml benchmarks rebuild the bubble the way DialogBox did before it was built in code, by loading
+ * the old DialogBox.fxml and flipping the children with inline styles, as the baseline.
+ * The toolkit runs on Monocle, the headless backend of JavaFX, so no display is needed:
+ * `./gradlew jmh -PjmhArgs=DialogBox`. Laying out the text still needs the pango library of a Linux desktop.
+ * The FXML loader takes long to warm up, so the benchmarks warm up longer than the others.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Dglass.platform=Monocle", "-Dmonocle.platform=Headless", "-Dprism.order=sw"})
+@State(Scope.Benchmark)
+public class DialogBoxBenchmark {
+
+    /** The DialogBox.fxml loaded for every message before */
+    private static final byte[] OLD_FXML = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<?import javafx.geometry.Insets?>\n"
+            + "<?import javafx.scene.control.Label?>\n"
+            + "<?import javafx.scene.image.ImageView?>\n"
+            + "<?import javafx.scene.layout.HBox?>\n"
+            + "<fx:root alignment=\"TOP_RIGHT\" maxHeight=\"Infinity\" maxWidth=\"Infinity\" prefWidth=\"400.0\""
+            + " type=\"javafx.scene.layout.HBox\" xmlns=\"http://javafx.com/javafx/8.0.171\""
+            + " xmlns:fx=\"http://javafx.com/fxml/1\">\n"
+            + "    <children>\n"
+            + "        <Label fx:id=\"dialog\" text=\"Label\" wrapText=\"true\" minHeight=\"-Infinity\""
+            + " maxHeight=\"Infinity\" minWidth=\"200.0\" style=\"-fx-background-color: #D4ECDD;"
+            + " -fx-background-radius: 20; -fx-padding: 20; -fx-font-size: 16;\"/>\n"
+            + "        <ImageView fx:id=\"displayPicture\" fitHeight=\"99.0\" fitWidth=\"99.0\""
+            + " pickOnBounds=\"true\" preserveRatio=\"true\" />\n"
+            + "    </children>\n"
+            + "    <padding>\n"
+            + "        <Insets bottom=\"15.0\" left=\"5.0\" right=\"5.0\" top=\"15.0\" />\n"
+            + "    </padding>\n"
+            + "</fx:root>").getBytes(StandardCharsets.UTF_8);
+
+    private static final String MESSAGE = "Great success! I add this task:\n"
+            + "    [D][ ] return book (by: Aug 21 2021 18:00)\nNow you have 42 tasks in the list.";
+
+    private Image image;
+    private StackPane root;
+
+    /**
+     * Starts the JavaFX toolkit and prepares an unshown scene with the dialog stylesheet.
+     */
+    @Setup
+    public void setUp() {
+        try {
+            Platform.startup(() -> { });
+        } catch (IllegalStateException e) {
+            // The toolkit is already running.
+        }
+        image = new Image(DialogBoxBenchmark.class.getResourceAsStream("/images/DaDuke.png"));
+        root = new StackPane();
+        Scene scene = new Scene(root, 400, 600);
+        scene.getStylesheets().add(DialogBoxBenchmark.class.getResource("/view/DialogBox.css").toExternalForm());
+    }
+
+    /**
+     * Builds a bubble from the old FXML file.
+     * @return The bubble.
+     * @throws IOException When the FXML cannot be loaded.
+     */
+    @Benchmark
+    public HBox fxmlBuild() throws IOException {
+        return buildFromFxml();
+    }
+
+    /**
+     * Builds a bubble in code.
+     * @return The bubble.
+     */
+    @Benchmark
+    public HBox codeBuild() {
+        return DialogBox.getDukeDialog(MESSAGE, image);
+    }
+
+    /**
+     * Builds a bubble from the old FXML file, then styles and lays it out in a scene.
+     * @return The bubble.
+     * @throws IOException When the FXML cannot be loaded.
+     */
+    @Benchmark
+    public HBox fxmlRender() throws IOException {
+        return render(buildFromFxml());
+    }
+
+    /**
+     * Builds a bubble in code, then styles and lays it out in a scene.
+     * @return The bubble.
+     */
+    @Benchmark
+    public HBox codeRender() {
+        return render(DialogBox.getDukeDialog(MESSAGE, image));
+    }
+
+    private HBox render(HBox box) {
+        root.getChildren().setAll(box);
+        root.applyCss();
+        root.layout();
+        return box;
+    }
+
+    private HBox buildFromFxml() throws IOException {
+        HBox box = new HBox();
+        FXMLLoader fxmlLoader = new FXMLLoader();
+        fxmlLoader.setRoot(box);
+        fxmlLoader.load(new ByteArrayInputStream(OLD_FXML));
+        Label dialog = (Label) fxmlLoader.getNamespace().get("dialog");
+        dialog.setText(MESSAGE);
+
+        ObservableList<Node> tmp = FXCollections.observableArrayList(box.getChildren());
+        Collections.reverse(tmp);
+        box.getChildren().setAll(tmp);
+        dialog.setStyle("-fx-background-color: #FEFBF3; "
+                + "-fx-background-radius: 20; "
+                + "-fx-padding: 20; "
+                + "-fx-font-size: 16;"
+        );
+        box.setAlignment(Pos.TOP_LEFT);
+        return box;
+    }
+}
@@ -0,0 +1,197 @@
+package duke;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * An immutable list of tasks kept in chunks, the version of the tasks a TaskList publishes.
+ *
+ * <p>A change copies the chunk it falls in and the small arrays over the chunks, and shares every other chunk with
+ * the list it was made from, so it costs O(n / CHUNK_SIZE + CHUNK_SIZE) rather than a copy of the whole list, and
+ * never changes that list. Reading a task finds its chunk by binary search; iterating walks the chunks in order.</p>
+ */
+final class ChunkedTasks extends AbstractList<Task> implements RandomAccess {
+
+    /** The tasks a chunk is built with; a chunk growing to twice as many is split in two */
+    private static final int CHUNK_SIZE = 512;
+
+    private static final ChunkedTasks EMPTY = new ChunkedTasks(new Task[0][], new int[0]);
+
+    /** The chunks, each a non-empty run of tasks */
+    private final Task[][] chunks;
+
+    /** The number of tasks in the chunks up to and including each one */
+    private final int[] ends;
+
+    private ChunkedTasks(Task[][] chunks, int[] ends) {
+        this.chunks = chunks;
+        this.ends = ends;
+    }
+
+    /**
+     * Returns the empty list.
+     * @return The empty list.
+     */
+    static ChunkedTasks empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a list of the given tasks, in full chunks.
+     * @param tasks The tasks.
+     * @return The list of the tasks.
+     */
+    static ChunkedTasks of(List<Task> tasks) {
+        Task[] all = tasks.toArray(new Task[0]);
+        int chunkCount = (all.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        Task[][] chunks = new Task[chunkCount][];
+        int[] ends = new int[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            int from = i * CHUNK_SIZE;
+            int to = Math.min(all.length, from + CHUNK_SIZE);
+            chunks[i] = Arrays.copyOfRange(all, from, to);
+            ends[i] = to;
+        }
+        return new ChunkedTasks(chunks, ends);
+    }
+
+    @Override
+    public int size() {
+        return ends.length == 0 ? 0 : ends[ends.length - 1];
+    }
+
+    @Override
+    public Task get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        int chunk = chunkOf(index);
+        return chunks[chunk][index - startOf(chunk)];
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<Task>() {
+            private int chunk = 0;
+            private int position = 0;
+
+            @Override
+            public boolean hasNext() {
+                return chunk < chunks.length;
+            }
+
+            @Override
+            public Task next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Task task = chunks[chunk][position++];
+                if (position == chunks[chunk].length) {
+                    chunk++;
+                    position = 0;
+                }
+                return task;
+            }
+        };
+    }
+
+    @Override
+    public void forEach(Consumer<? super Task> action) {
+        for (Task[] chunk : chunks) {
+            for (Task task : chunk) {
+                action.accept(task);
+            }
+        }
+    }
+
+    /**
+     * Returns a new list with a task added at the end.
+     * @param task The task.
+     * @return The new list.
+     */
+    ChunkedTasks with(Task task) {
+        if (chunks.length == 0) {
+            return new ChunkedTasks(new Task[][] {{task}}, new int[] {1});
+        }
+        int chunk = chunks.length - 1;
+        Task[] grown = Arrays.copyOf(chunks[chunk], chunks[chunk].length + 1);
+        grown[grown.length - 1] = task;
+        if (grown.length < 2 * CHUNK_SIZE) {
+            return replace(chunk, grown);
+        }
+        return replace(chunk, Arrays.copyOfRange(grown, 0, CHUNK_SIZE),
+                Arrays.copyOfRange(grown, CHUNK_SIZE, grown.length));
+    }
+
+    /**
+     * Returns a new list with the task at an index replaced.
+     * @param index The 0-based index, within the list.
+     * @param task The new task.
+     * @return The new list.
+     */
+    ChunkedTasks withSet(int index, Task task) {
+        int chunk = chunkOf(index);
+        Task[] changed = chunks[chunk].clone();
+        changed[index - startOf(chunk)] = task;
+        Task[][] newChunks = chunks.clone();
+        newChunks[chunk] = changed;
+        return new ChunkedTasks(newChunks, ends);
+    }
+
+    /**
+     * Returns a new list without the task at an index.
+     * @param index The 0-based index, within the list.
+     * @return The new list.
+     */
+    ChunkedTasks without(int index) {
+        int chunk = chunkOf(index);
+        Task[] old = chunks[chunk];
+        if (old.length == 1) {
+            return replace(chunk);
+        }
+        int position = index - startOf(chunk);
+        Task[] shrunk = new Task[old.length - 1];
+        System.arraycopy(old, 0, shrunk, 0, position);
+        System.arraycopy(old, position + 1, shrunk, position, shrunk.length - position);
+        return replace(chunk, shrunk);
+    }
+
+    /** Returns a list with a chunk replaced by none, one or two chunks. */
+    private ChunkedTasks replace(int chunk, Task[]... replacements) {
+        Task[][] newChunks = new Task[chunks.length - 1 + replacements.length][];
+        System.arraycopy(chunks, 0, newChunks, 0, chunk);
+        System.arraycopy(replacements, 0, newChunks, chunk, replacements.length);
+        System.arraycopy(chunks, chunk + 1, newChunks, chunk + replacements.length, chunks.length - chunk - 1);
+        int[] newEnds = Arrays.copyOf(ends, newChunks.length);
+        int end = startOf(chunk);
+        for (int i = chunk; i < newChunks.length; i++) {
+            end += newChunks[i].length;
+            newEnds[i] = end;
+        }
+        return new ChunkedTasks(newChunks, newEnds);
+    }
+
+    /** Returns the chunk holding the task at an index within the list. */
+    private int chunkOf(int index) {
+        int low = 0;
+        int high = ends.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (ends[middle] <= index) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int startOf(int chunk) {
+        return chunk == 0 ? 0 : ends[chunk - 1];
+    }
+}
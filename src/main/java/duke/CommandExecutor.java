@@ -0,0 +1,106 @@
+package duke;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import duke.command.Command;
+import duke.stats.CommandExecuteEvent;
+import duke.stats.CommandStats;
+import duke.stats.Stats;
+
+/**
+ * Executes commands with a single writer.
+ * Mutating commands are queued to one writer thread. Read-only commands run on the calling thread
+ * against the latest published version of the task list, without taking any lock.
+ */
+public class CommandExecutor {
+
+    /** How long shutdown waits for the queued commands */
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    /** The single thread executing every mutating command, in submission order */
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "duke-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Returns the result of executing a command.
+     * @param command The command to be executed.
+     * @return The result of the command.
+     * @throws DukeException Thrown when a duke exception happens.
+     */
+    public CommandResult execute(Command command) throws DukeException {
+        assert command != null : "[duke.CommandExecutor.execute]: command parameter should not be null.";
+
+        if (!command.isMutating()) {
+            return run(command);
+        }
+
+        Future<CommandResult> result = writer.submit(() -> run(command));
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw DukeException.of(DukeException.Errors.SAVE_FAIL);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DukeException) {
+                throw (DukeException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Executes a command on the current thread, timing it when the stats or JFR events are on.
+     * @param command The command to be executed.
+     * @return The result of the command.
+     * @throws DukeException Thrown when a duke exception happens.
+     */
+    private static CommandResult run(Command command) throws DukeException {
+        CommandStats stats = Stats.of(command);
+        CommandExecuteEvent event = new CommandExecuteEvent();
+        if (stats == null && !event.isEnabled()) {
+            return command.execute();
+        }
+        event.begin();
+        long start = stats == null ? 0 : Stats.beginExecute(stats);
+        CommandResult result = null;
+        try {
+            result = command.execute();
+            return result;
+        } finally {
+            if (stats != null) {
+                Stats.endExecute(stats, start);
+            }
+            if (event.shouldCommit()) {
+                event.setCommandType(Stats.nameOf(command));
+                event.setMutating(command.isMutating());
+                event.setSuccess(result != null);
+                event.setTaskCount(result == null ? 0 : result.getListSize());
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Stops the writer thread and waits for the queued commands to be done.
+     */
+    public void shutdown() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
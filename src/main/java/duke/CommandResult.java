@@ -0,0 +1,295 @@
+package duke;
+
+import java.util.Collections;
+import java.util.List;
+
+import duke.query.QueryPlan;
+
+/**
+ * The result of a command.
+ * Results hold the affected tasks instead of text, so frontends only format what they display.
+ */
+public class CommandResult {
+
+    /**
+     * The kinds of results.
+     */
+    public enum Type {
+        ADDED,
+        DONE,
+        REMOVED,
+        FOUND,
+        QUERIED,
+        LISTED,
+        HELP,
+        DATES,
+        STATS,
+        SUMMARY,
+        CONFLICTS,
+        BYE,
+        ERROR
+    }
+
+    private static final int[] NO_IDS = new int[0];
+
+    private final Type type;
+
+    /** The affected or matching tasks */
+    private final List<Task> tasks;
+
+    /** The 1-based indices of the tasks in the list, in the same order as tasks */
+    private final int[] taskIds;
+
+    /** The number of tasks in the list after the command */
+    private final int listSize;
+
+    /** The error message, or null if the command succeeded */
+    private final String errorMessage;
+
+    /** The kind of error, or null if the command succeeded or failed unexpectedly */
+    private final DukeException.Errors error;
+
+    /** The events overlapping an added event */
+    private final List<Task> overlaps;
+
+    /** The plan of an explained query, or null */
+    private final QueryPlan plan;
+
+    /** The counts of the tasks, or null */
+    private final TaskSummary summary;
+
+    /** The latency and storage stats as of the command, or null */
+    private final String statsReport;
+
+    private CommandResult(Type type, List<Task> tasks, int[] taskIds, int listSize, String errorMessage,
+            DukeException.Errors error) {
+        this(type, tasks, taskIds, listSize, errorMessage, error, Collections.emptyList(), null, null, null);
+    }
+
+    private CommandResult(Type type, List<Task> tasks, int[] taskIds, int listSize, String errorMessage,
+            DukeException.Errors error, List<Task> overlaps, QueryPlan plan, TaskSummary summary,
+            String statsReport) {
+        this.type = type;
+        this.tasks = tasks;
+        this.taskIds = taskIds;
+        this.listSize = listSize;
+        this.errorMessage = errorMessage;
+        this.error = error;
+        this.overlaps = overlaps;
+        this.plan = plan;
+        this.summary = summary;
+        this.statsReport = statsReport;
+    }
+
+    /**
+     * Returns the result of adding a task, with the events it overlaps if it is an event.
+     * @param task The added task.
+     * @param listSize The number of tasks in the list after adding.
+     * @param overlaps The events overlapping the added task, empty if there are none.
+     * @return The result of adding a task.
+     */
+    public static CommandResult added(Task task, int listSize, List<Task> overlaps) {
+        return new CommandResult(Type.ADDED, List.of(task), new int[] {listSize}, listSize, null, null, overlaps, null,
+                null, null);
+    }
+
+    /**
+     * Returns the result of marking a task as done.
+     * @param task The task marked as done.
+     * @param index The 0-based index of the task.
+     * @param listSize The number of tasks in the list.
+     * @return The result of marking a task as done.
+     */
+    public static CommandResult done(Task task, int index, int listSize) {
+        return new CommandResult(Type.DONE, List.of(task), new int[] {index + 1}, listSize, null, null);
+    }
+
+    /**
+     * Returns the result of removing a task.
+     * @param task The removed task.
+     * @param index The 0-based index the task had.
+     * @param listSize The number of tasks in the list after removing.
+     * @return The result of removing a task.
+     */
+    public static CommandResult removed(Task task, int index, int listSize) {
+        return new CommandResult(Type.REMOVED, List.of(task), new int[] {index + 1}, listSize, null, null);
+    }
+
+    /**
+     * Returns the result of a search.
+     * @param tasks The matching tasks.
+     * @param taskIds The 1-based indices of the matching tasks.
+     * @param listSize The number of tasks in the list.
+     * @return The result of a search.
+     */
+    public static CommandResult found(List<Task> tasks, int[] taskIds, int listSize) {
+        return new CommandResult(Type.FOUND, tasks, taskIds, listSize, null, null);
+    }
+
+    /**
+     * Returns the result of a query.
+     * @param tasks The matching tasks, in the order asked for.
+     * @param taskIds The 1-based indices of the matching tasks.
+     * @param listSize The number of tasks in the list.
+     * @param plan The plan of the query if it is explained, else null.
+     * @return The result of a query.
+     */
+    public static CommandResult queried(List<Task> tasks, int[] taskIds, int listSize, QueryPlan plan) {
+        return new CommandResult(Type.QUERIED, tasks, taskIds, listSize, null, null, Collections.emptyList(), plan,
+                null, null);
+    }
+
+    /**
+     * Returns the result of listing all the tasks.
+     * @param tasks An immutable version of all the tasks.
+     * @return The result of listing all the tasks.
+     */
+    public static CommandResult listed(List<Task> tasks) {
+        return new CommandResult(Type.LISTED, tasks, null, tasks.size(), null, null);
+    }
+
+    /**
+     * Returns the counts of the tasks.
+     * @param summary The counts of the tasks.
+     * @param listSize The number of tasks in the list.
+     * @return The result with the counts of the tasks.
+     */
+    public static CommandResult summarized(TaskSummary summary, int listSize) {
+        return new CommandResult(Type.SUMMARY, Collections.emptyList(), NO_IDS, listSize, null, null,
+                Collections.emptyList(), null, summary, null);
+    }
+
+    /**
+     * Returns the latency and storage stats.
+     * @param statsReport The report of the stats, taken when the command ran.
+     * @return The result with the stats.
+     */
+    public static CommandResult stats(String statsReport) {
+        assert statsReport != null : "[duke.CommandResult.stats]: statsReport parameter should not be null.";
+        return new CommandResult(Type.STATS, Collections.emptyList(), NO_IDS, 0, null, null,
+                Collections.emptyList(), null, null, statsReport);
+    }
+
+    /**
+     * Returns the result of listing the overlapping events.
+     * @param pairs The overlapping events, two by two.
+     * @param listSize The number of tasks in the list.
+     * @return The result of listing the overlapping events.
+     */
+    public static CommandResult conflicts(List<Task> pairs, int listSize) {
+        return new CommandResult(Type.CONFLICTS, pairs, NO_IDS, listSize, null, null);
+    }
+
+    /**
+     * Returns a result without any task, such as HELP, DATES or BYE.
+     * @param type The type of the result.
+     * @return A result without any task.
+     */
+    public static CommandResult of(Type type) {
+        assert type != Type.ERROR : "[duke.CommandResult.of]: use CommandResult.error for errors.";
+        return new CommandResult(type, Collections.emptyList(), NO_IDS, 0, null, null);
+    }
+
+    /**
+     * Returns the result of a failed command.
+     * @param errorMessage The error message.
+     * @return The result of a failed command.
+     */
+    public static CommandResult error(String errorMessage) {
+        return new CommandResult(Type.ERROR, Collections.emptyList(), NO_IDS, 0, errorMessage, null);
+    }
+
+    /**
+     * Returns the result of a command failed by a user mistake.
+     * @param exception The exception describing the mistake.
+     * @return The result of a failed command.
+     */
+    public static CommandResult error(DukeException exception) {
+        return new CommandResult(Type.ERROR, Collections.emptyList(), NO_IDS, 0, exception.getMessage(),
+                exception.getError());
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns true if the command succeeded.
+     * @return True if the command succeeded.
+     */
+    public boolean isSuccess() {
+        return type != Type.ERROR;
+    }
+
+    /**
+     * Returns true if the app should quit.
+     * @return True if the app should quit.
+     */
+    public boolean isExit() {
+        return type == Type.BYE;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Returns the 1-based indices of the tasks, in the same order as getTasks().
+     * @return The 1-based indices of the tasks.
+     */
+    public int[] getTaskIds() {
+        if (taskIds == null) {
+            // Listing results number every task in order.
+            int[] ids = new int[tasks.size()];
+            for (int i = 0; i < ids.length; ++i) {
+                ids[i] = i + 1;
+            }
+            return ids;
+        }
+        return taskIds.clone();
+    }
+
+    /**
+     * Returns the events overlapping the added task.
+     * @return The events overlapping the added task, empty if there are none.
+     */
+    public List<Task> getOverlaps() {
+        return overlaps;
+    }
+
+    /**
+     * Returns the plan of an explained query.
+     * @return The plan of the query, or null if it is not explained.
+     */
+    public QueryPlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * Returns the counts of the tasks.
+     * @return The counts of the tasks, or null if the result has none.
+     */
+    public TaskSummary getSummary() {
+        return summary;
+    }
+
+    /**
+     * Returns the report of the latency and storage stats.
+     * @return The report of the stats as of the command, or null if the result has none.
+     */
+    public String getStatsReport() {
+        return statsReport;
+    }
+
+    public int getListSize() {
+        return listSize;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public DukeException.Errors getError() {
+        return error;
+    }
+}
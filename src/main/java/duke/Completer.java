@@ -0,0 +1,125 @@
+package duke;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * Completes partly typed user input: the command keyword, and the task description after `find`.
+ *
+ * <p>The descriptions are kept in a sorted map from each description to the number of tasks having it,
+ * sorted by their folded form (see {@link SearchKey}), so the completions of a prefix are the run of keys
+ * starting at the folded prefix and, like `find`, ignore case and accents. A completion costs
+ * O(log n + limit) whatever the number of tasks. The completer listens to the task list, so the
+ * descriptions follow every change.</p>
+ */
+public class Completer implements Consumer<TaskChange> {
+
+    /** The command keywords, as typed by the user */
+    private static final NavigableMap<String, Constant.Command> KEYWORDS = new TreeMap<>();
+
+    /** The command whose argument is completed with task descriptions */
+    private static final String FIND_PREFIX = "find ";
+
+    static {
+        for (Constant.Command command : Constant.Command.values()) {
+            KEYWORDS.put(command.name().toLowerCase(), command);
+        }
+    }
+
+    /** The number of tasks with each description, replaced whole when the list is loaded */
+    private volatile ConcurrentSkipListMap<Description, Integer> descriptions =
+            new ConcurrentSkipListMap<>(Description.ORDER);
+
+    /**
+     * Returns up to limit completions of a partly typed input, as whole inputs.
+     * @param input The input typed so far.
+     * @param limit The most completions to be returned.
+     * @return The completions in alphabetical order, empty if there are none.
+     */
+    public List<String> complete(String input, int limit) {
+        assert input != null : "[duke.Completer.complete]: input parameter should not be null.";
+
+        List<String> completions = new ArrayList<>();
+        if (input.isEmpty()) {
+            return completions;
+        }
+        if (input.indexOf(' ') < 0) {
+            addCompletions(KEYWORDS, input.toLowerCase(), "", limit, completions);
+        } else if (input.regionMatches(true, 0, FIND_PREFIX, 0, FIND_PREFIX.length())) {
+            String prefix = SearchKey.fold(input.substring(FIND_PREFIX.length()));
+            String inputStart = input.substring(0, FIND_PREFIX.length());
+            for (Description description : descriptions.tailMap(new Description(prefix, ""), true).keySet()) {
+                if (completions.size() >= limit || !description.folded.startsWith(prefix)) {
+                    break;
+                }
+                completions.add(inputStart + description.text);
+            }
+        }
+        return completions;
+    }
+
+    /**
+     * Applies a change of the task list to the descriptions.
+     * @param change The change to the task list.
+     */
+    @Override
+    public void accept(TaskChange change) {
+        switch (change.getType()) {
+        case LOADED:
+            // The new descriptions are built aside, so a completion never sees them half filled.
+            ConcurrentSkipListMap<Description, Integer> loaded = new ConcurrentSkipListMap<>(Description.ORDER);
+            for (Task task : change.getTasks()) {
+                loaded.merge(Description.of(task.description), 1, Integer::sum);
+            }
+            descriptions = loaded;
+            break;
+        case ADDED:
+            descriptions.merge(Description.of(change.getTask().description), 1, Integer::sum);
+            break;
+        case REMOVED:
+            descriptions.computeIfPresent(Description.of(change.getTask().description),
+                (key, count) -> count > 1 ? count - 1 : null);
+            break;
+        default:
+            // Marking a task as done keeps its description.
+            break;
+        }
+    }
+
+    /**
+     * A description with its folded form, which it is sorted by.
+     */
+    private static class Description {
+        /** Orders by the folded form, then by the description for descriptions folding to the same form */
+        private static final Comparator<Description> ORDER = Comparator.<Description, String>comparing(
+            description -> description.folded).thenComparing(description -> description.text);
+
+        private final String folded;
+        private final String text;
+
+        private Description(String folded, String text) {
+            this.folded = folded;
+            this.text = text;
+        }
+
+        private static Description of(String text) {
+            return new Description(SearchKey.fold(text), text);
+        }
+    }
+
+    private static void addCompletions(NavigableMap<String, ?> map, String prefix, String inputStart, int limit,
+            List<String> completions) {
+        for (Map.Entry<String, ?> entry : map.tailMap(prefix, true).entrySet()) {
+            if (completions.size() >= limit || !entry.getKey().startsWith(prefix)) {
+                return;
+            }
+            completions.add(inputStart + entry.getKey());
+        }
+    }
+}
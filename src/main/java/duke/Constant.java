@@ -1,5 +1,8 @@
 package duke;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * The class for Global Duke Constants.
  */
@@ -9,17 +12,30 @@ public class Constant {
      */
     public enum Command {
 
-        LIST ("", "Lists all the tasks."),
+        LIST ("[*optional where [condition] and ... order by [field] limit [n] explain]",
+                "Lists all the tasks, or the ones matching the conditions, such as by<2021-09-01 18:00."),
         TODO ("[description]", "Adds a todo task."),
         DEADLINE ("[description] /by [dd-MM-yyyy] [*optional hh:mm]", "Adds a task with a deadline"),
-        EVENT ("[description] /at [dd-MM-yyyy] [*optional hh:mm]", "Adds an event to the task"),
+        EVENT ("[description] /at [dd-MM-yyyy] [*optional hh:mm] [*optional /to [dd-MM-yyyy] [*optional hh:mm]]",
+                "Adds an event to the task"),
         DELETE ("[index]", "Removes a task from the task list"),
         DONE ("[index]", "Marks a task as done"),
-        FIND ("[keyword]", "Find a task by searching for a keyword"),
+        FIND ("[keyword] [*optional limit [k]]", "Find a task by searching for a keyword, best matches first"),
+        CONFLICTS ("", "Lists the events that are at the same time"),
+        SUMMARY ("", "Shows how many tasks are open, done and overdue"),
         HELP ("", "Shows all the commands available"),
         DATES ("", "Shows all the available date and time type"),
+        STATS ("[*optional on/off]", "Shows the command latency and storage stats"),
         BYE ("", "Quit the app");
 
+        private static final Map<String, Command> BY_NAME = new HashMap<>();
+
+        static {
+            for (Command command : values()) {
+                BY_NAME.put(command.name(), command);
+            }
+        }
+
         private final String arguments;
         private final String description;
 
@@ -28,6 +44,15 @@ public class Constant {
             this.description = description;
         }
 
+        /**
+         * Returns the command with the given upper case name, or null if there is none.
+         * @param name The upper case name of the command.
+         * @return The command, or null if there is no such command.
+         */
+        public static Command fromString(String name) {
+            return BY_NAME.get(name);
+        }
+
         /**
          * Returns a string representation of the command.
          * @return A string representation of the command.
@@ -8,6 +8,9 @@ import java.time.format.DateTimeFormatter;
  */
 public class Deadline extends Task {
 
+    /** The format of the dates displayed */
+    private static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("MMM d yyyy HH:mm");
+
     /** The deadline date time */
     protected LocalDateTime date;
 
@@ -25,6 +28,36 @@ public class Deadline extends Task {
         this.dateString = date;
     }
 
+    /**
+     * The Deadline constructor for an already parsed date, used when loading a snapshot.
+     * @param description The description of the task.
+     * @param date The deadline of the task.
+     * @param dateString The save-friendly String representation of the date.
+     */
+    Deadline(String description, LocalDateTime date, String dateString) {
+        super(description);
+        this.date = date;
+        this.dateString = dateString;
+    }
+
+    /**
+     * Returns the deadline.
+     * @return The deadline.
+     */
+    @Override
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    /**
+     * Returns the description and the deadline as displayed.
+     * @return The searchable text.
+     */
+    @Override
+    protected String getSearchText() {
+        return super.description + " " + date.format(DISPLAY_FORMAT);
+    }
+
     /**
      * Returns the string representation of a Deadline task in the saved file.
      * @return The string representation of a Deadline task in the saved file.
@@ -42,6 +75,6 @@ public class Deadline extends Task {
     @Override
     public String toString() {
         return "[D]" + super.toString()
-                + " (by: " + date.format(DateTimeFormatter.ofPattern("MMM d yyyy HH:mm")) + ")";
+                + " (by: " + date.format(DISPLAY_FORMAT) + ")";
     }
 }
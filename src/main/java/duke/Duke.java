@@ -1,52 +1,121 @@
 package duke;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+
 import duke.command.Command;
+import duke.reminder.ReminderScheduler;
+import duke.stats.CommandParseEvent;
+import duke.stats.Stats;
 
 /**
  * The Duke chat-bot app.
  */
 public class Duke {
 
+    /** How many minutes before its date a task is reminded of, by default */
+    private static final int DEFAULT_REMINDER_LEAD_MINUTES = 60;
+
     /** Hard disk storage */
     private final Storage storage;
 
     /** User input parser */
     private final Parser parser;
 
+    /** Command executor */
+    private final CommandExecutor executor;
+
     /** The list of tasks */
     private TaskList taskList;
 
     /** True if Duke is still running */
-    private boolean isRunning;
+    private volatile boolean isRunning;
+
+    /** Reminds of the coming deadlines and events, once started */
+    private ReminderScheduler reminders;
 
 
     /**
-     * Duke class constructor.
+     * Duke class constructor, starting with an empty list if the saved data cannot be loaded.
+     * The saved file is then overwritten by the next change, so apps keeping the user's tasks use load instead.
      * @param directory Relative path to directory of the saved data.
      * @param file Name of the saved data file.
      */
     public Duke(String directory, String file) {
-        assert directory != null : "[duke.Duke.Duke]: directory parameter should not be null.";
-        assert file != null : "[duke.Duke.Duke]: file parameter should not be null.";
+        this(new Storage(directory, file));
+    }
+
+    private Duke(Storage storage) {
+        this(storage, loadOrEmpty(storage));
+    }
+
+    private Duke(Storage storage, TaskList taskList) {
+        this.storage = storage;
+        this.taskList = taskList;
+        parser = new Parser(taskList);
+        executor = new CommandExecutor();
+        Stats.setTaskCounter(() -> taskList.getSnapshot().size());
+        isRunning = true;
+    }
+
+    /**
+     * Returns Duke with the saved data loaded, reporting the progress of loading it.
+     * @param directory Relative path to directory of the saved data.
+     * @param file Name of the saved data file.
+     * @param progressListener Takes the loaded fraction of the saved data, from 0 to 1.
+     * @return Duke with the saved tasks.
+     * @throws DukeException When the saved data cannot be read, so nothing is saved over it.
+     */
+    public static Duke load(String directory, String file, DoubleConsumer progressListener) throws DukeException {
+        assert directory != null : "[duke.Duke.load]: directory parameter should not be null.";
+        assert file != null : "[duke.Duke.load]: file parameter should not be null.";
 
-        storage = new Storage(directory, file);
+        Storage storage = new Storage(directory, file);
+        storage.setProgressListener(progressListener);
+        ArrayList<Task> tasks = storage.load();
+        if (tasks == null) {
+            throw DukeException.of(DukeException.Errors.FILE_NOT_FOUND);
+        }
+        return new Duke(storage, new TaskList(tasks, storage));
+    }
+
+    private static TaskList loadOrEmpty(Storage storage) {
         try {
             // Get stored data.
-            taskList = new TaskList(storage.load(), storage);
+            ArrayList<Task> tasks = storage.load();
+            if (tasks != null) {
+                return new TaskList(tasks, storage);
+            }
         } catch (DukeException e) {
             Ui.showMessage(e.getMessage());
-            taskList = new TaskList(storage);
         }
-        parser = new Parser(taskList);
-        isRunning = true;
+        return new TaskList(storage);
     }
 
     /**
      * Entry point of the Duke program.
+     * Pass `--headless` to buffer the console when Duke is driven through pipes, without reminders.
      * @param args Command line arguments.
      */
     public static void main(String[] args) {
-        new Duke("./data", "duke.txt").run();
+        for (String arg : args) {
+            if (arg.equals("--headless")) {
+                Ui.enableHeadless();
+            }
+        }
+        Duke duke;
+        try {
+            duke = load("./data", "duke.txt", progress -> { });
+        } catch (DukeException | RuntimeException e) {
+            // Nothing is saved over a file Duke cannot read.
+            Ui.showMessage(Ui.getLoadFailedMessage(e instanceof DukeException ? e.getMessage() : e.toString()));
+            Ui.flush();
+            return;
+        }
+        duke.run();
     }
 
 
@@ -57,6 +126,10 @@ public class Duke {
 
         // Show Greetings.
         Ui.showGreetings();
+        if (!Ui.isHeadless()) {
+            // A reminder depends on the time it is run, so it would make the headless output differ between runs.
+            startReminders(Ui::showMessage);
+        }
 
         // Get and process input.
         String rawInput = "";
@@ -64,11 +137,47 @@ public class Duke {
         while (isRunning) {
             Ui.showMessage(output);
             rawInput = Ui.getInput();
+            if (rawInput == null) {
+                // The input is exhausted.
+                break;
+            }
             output = getResponse(rawInput);
         }
 
         // Goodbye message
         Ui.showMessage(Ui.getGoodByeMessage());
+        Ui.flush();
+        shutdown();
+    }
+
+    /**
+     * Starts reminding of the undone deadlines and events shortly before their date.
+     * Set how many minutes before with -Dduke.reminder.lead, 60 by default.
+     * @param listener Takes the text of each reminder, on the reminder thread.
+     */
+    public synchronized void startReminders(Consumer<String> listener) {
+        assert listener != null : "[duke.Duke.startReminders]: listener parameter should not be null.";
+        if (reminders != null) {
+            return;
+        }
+        Duration lead = Duration.ofMinutes(Integer.getInteger("duke.reminder.lead", DEFAULT_REMINDER_LEAD_MINUTES));
+        reminders = new ReminderScheduler(lead, Clock.systemDefaultZone(),
+            task -> listener.accept(Ui.getReminderMessage(task)));
+        taskList.addListener(reminders);
+        reminders.start();
+    }
+
+    /**
+     * Stops the command executor and reminders, and saves a snapshot of the tasks for a faster next start.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            if (reminders != null) {
+                reminders.stop();
+            }
+        }
+        executor.shutdown();
+        storage.saveSnapshot(taskList.getSnapshot());
     }
 
     /**
@@ -79,18 +188,68 @@ public class Duke {
     public String getResponse(String input) {
         assert input != null : "[duke.Duke.getResponse]: input parameter is null";
 
+        return Ui.render(getResult(input));
+    }
+
+    /**
+     * Returns the result of a user input, without formatting it for display.
+     * @param input User input.
+     * @return The result of the command.
+     */
+    public CommandResult getResult(String input) {
+        assert input != null : "[duke.Duke.getResult]: input parameter is null";
+
         try {
             // Parse user input and execute the command
-            Command command = parser.parseInput(input);
-            String output = command.execute();
+            Command command = parse(input);
+            CommandResult result = executor.execute(command);
 
-            quitIfBye(output);
-            return output;
+            isRunning = !result.isExit();
+            return result;
+        } catch (DukeException e) {
+            isRunning = true;
+            return CommandResult.error(e);
         } catch (Exception e) {
-            return e.getMessage();
+            isRunning = true;
+            return CommandResult.error(e.getMessage());
         }
     }
 
+    /**
+     * Returns the command parsed from a user input, timing it when the stats or JFR events are on.
+     * @param input User input.
+     * @return The parsed command.
+     * @throws DukeException An invalid user input will produce this exception.
+     */
+    private Command parse(String input) throws DukeException {
+        CommandParseEvent event = new CommandParseEvent();
+        if (!Stats.isEnabled() && !event.isEnabled()) {
+            return parser.parseInput(input);
+        }
+        event.begin();
+        long start = System.nanoTime();
+        Command command = null;
+        try {
+            command = parser.parseInput(input);
+            return command;
+        } finally {
+            Stats.recordParse(command, System.nanoTime() - start);
+            if (event.shouldCommit()) {
+                event.setCommandType(Stats.nameOf(command));
+                event.setInputLength(input.length());
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Adds a listener told about every change to the task list, starting with the whole list.
+     * @param listener Takes the changes to the task list, on the thread making each change.
+     */
+    public void addTaskListener(Consumer<TaskChange> listener) {
+        taskList.addListener(listener);
+    }
+
     /**
      * Returns true when duke is awake and false otherwise.
      * @return True when duke is awake and false otherwise.
@@ -98,8 +257,4 @@ public class Duke {
     public boolean isRunning() {
         return isRunning;
     }
-
-    private void quitIfBye(String message) {
-        isRunning = !message.equals(Ui.getGoodByeMessage());
-    }
 }
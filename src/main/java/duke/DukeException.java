@@ -1,7 +1,12 @@
 package duke;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 /**
  * Exceptions for the Duke app.
+ * User mistakes are routine, so DukeExceptions carry no stack trace, and the ones without
+ * extra detail are preallocated.
  */
 public class DukeException extends Exception {
 
@@ -15,6 +20,7 @@ public class DukeException extends Exception {
         INVALID_ARGUMENT ("The argument is invalid."),
         WRONG_ARGUMENT_TYPE ("Invalid argument type."),
         TASK_NOT_FOUND ("No task found."),
+        INVALID_QUERY ("The query is invalid."),
         SAVE_FAIL ("Failed to save current state");
 
         private final String description;
@@ -33,8 +39,34 @@ public class DukeException extends Exception {
         }
     }
 
-    DukeException(String message) {
-        super(message);
+    /** The preallocated exception of every error without detail */
+    private static final Map<Errors, DukeException> PREALLOCATED = new EnumMap<>(Errors.class);
+
+    static {
+        for (Errors error : Errors.values()) {
+            PREALLOCATED.put(error, new DukeException(error, ""));
+        }
+    }
+
+    /** The kind of error */
+    private final Errors error;
+
+    DukeException(Errors error, String detail) {
+        super(error.toString() + detail, null, false, false);
+        this.error = error;
+    }
+
+    /**
+     * Returns the preallocated exception of an error.
+     * @param error The kind of error.
+     * @return The preallocated exception of the error.
+     */
+    static DukeException of(Errors error) {
+        return PREALLOCATED.get(error);
+    }
+
+    public Errors getError() {
+        return error;
     }
 
 }
@@ -9,21 +9,77 @@ import java.time.format.DateTimeFormatter;
  */
 public class Event extends Task {
 
+    /** The format of the dates displayed */
+    private static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("MMM d yyyy HH:mm");
+
     /** The event date time */
     protected LocalDateTime date;
 
     /** The String representation of a save-friendly date */
     protected String dateString;
 
+    /** The end date time, or null if the event has no end time */
+    protected LocalDateTime endDate;
+
+    /** The String representation of a save-friendly end date, or null if the event has no end time */
+    protected String endDateString;
+
     /**
      * The Event constructor.
      * @param description The description of the task.
      * @param date The time of the event.
      */
     public Event(String description, String date) {
+        this(description, date, null);
+    }
+
+    /**
+     * The Event constructor for an event with an optional end time.
+     * @param description The description of the task.
+     * @param date The time of the event.
+     * @param endDate The end time of the event, or null if it has none.
+     */
+    public Event(String description, String date, String endDate) {
         super(description);
         this.date = LocalDateTime.parse(date);
         this.dateString = date;
+        if (endDate != null) {
+            this.endDate = LocalDateTime.parse(endDate);
+            this.endDateString = endDate;
+        }
+    }
+
+    /**
+     * The Event constructor for already parsed dates, used when loading a snapshot.
+     * @param description The description of the task.
+     * @param date The time of the event.
+     * @param dateString The save-friendly String representation of the date.
+     * @param endDate The end time of the event, or null if it has none.
+     * @param endDateString The save-friendly String representation of the end date, or null.
+     */
+    Event(String description, LocalDateTime date, String dateString, LocalDateTime endDate, String endDateString) {
+        super(description);
+        this.date = date;
+        this.dateString = dateString;
+        this.endDate = endDate;
+        this.endDateString = endDateString;
+    }
+
+    /**
+     * Returns the time of the event.
+     * @return The time of the event.
+     */
+    @Override
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    /**
+     * Returns the end time of the event.
+     * @return The end time of the event, or null if it has none.
+     */
+    public LocalDateTime getEndDate() {
+        return endDate;
     }
 
     /**
@@ -33,7 +89,18 @@ public class Event extends Task {
     @Override
     public String savedToString() {
         String doneStatus = super.isDone ? "1" : "0";
-        return "E | " + doneStatus + " | " + super.description + " | " + dateString;
+        String end = endDateString == null ? "" : " | " + endDateString;
+        return "E | " + doneStatus + " | " + super.description + " | " + dateString + end;
+    }
+
+    /**
+     * Returns the description and the times of the event as displayed.
+     * @return The searchable text.
+     */
+    @Override
+    protected String getSearchText() {
+        String end = endDate == null ? "" : " to " + endDate.format(DISPLAY_FORMAT);
+        return super.description + " " + date.format(DISPLAY_FORMAT) + end;
     }
 
     /**
@@ -42,7 +109,7 @@ public class Event extends Task {
      */
     @Override
     public String toString() {
-        return "[E]" + super.toString()
-                + " (at: " + date.format(DateTimeFormatter.ofPattern("MMM d yyyy HH:mm")) + ")";
+        String end = endDate == null ? "" : " to " + endDate.format(DISPLAY_FORMAT);
+        return "[E]" + super.toString() + " (at: " + date.format(DISPLAY_FORMAT) + end + ")";
     }
 }
@@ -0,0 +1,328 @@
+package duke;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * An interval tree over the events, finding the events overlapping a given one in O(log n + k).
+ *
+ * <p>The tree is a treap ordered by start time, and each node also holds the latest end in its subtree,
+ * so a search skips every subtree ending before the event it looks for. A tree is never changed once built:
+ * adding or removing an event copies only the O(log n) nodes on its path, so the task list publishes a new
+ * tree with each new version of the tasks, and readers never take a lock.</p>
+ *
+ * <p>An event without an end time is the instant it starts. Two events overlap if they start at the same
+ * time, or if each starts before the other ends.</p>
+ */
+class EventIndex {
+
+    /** The index without any event */
+    static final EventIndex EMPTY = new EventIndex(null);
+
+    private final Node root;
+
+    private EventIndex(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns the index of the events among the given tasks, built in O(n log n).
+     * @param tasks The tasks.
+     * @return The index of the events among the tasks.
+     */
+    static EventIndex of(List<Task> tasks) {
+        assert tasks != null : "[duke.EventIndex.of]: tasks parameter should not be null.";
+
+        List<Node> sorted = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task instanceof Event) {
+                sorted.add(Node.of((Event) task, 0));
+            }
+        }
+        if (sorted.isEmpty()) {
+            return EMPTY;
+        }
+        sorted.sort(Comparator.<Node>comparingLong(node -> node.start).thenComparingLong(node -> node.end));
+
+        // A balanced tree is a valid treap if every level has higher priorities than the levels below it.
+        // Handing out sorted random priorities level by level gives the tree the shape of a random treap,
+        // so later changes keep it balanced.
+        int[] depths = new int[sorted.size()];
+        int height = assignDepths(depths, 0, depths.length, 0) + 1;
+        int[] levelStarts = new int[height + 1];
+        for (int depth : depths) {
+            levelStarts[depth + 1]++;
+        }
+        for (int level = 1; level <= height; level++) {
+            levelStarts[level] += levelStarts[level - 1];
+        }
+        Random random = ThreadLocalRandom.current();
+        int[] priorities = new int[depths.length];
+        for (int i = 0; i < priorities.length; i++) {
+            priorities[i] = random.nextInt(Integer.MAX_VALUE);
+        }
+        Arrays.sort(priorities);
+        for (int i = 0; i < depths.length; i++) {
+            // The highest priorities go to the shallowest levels.
+            int rank = levelStarts[depths[i]]++;
+            depths[i] = priorities[priorities.length - 1 - rank];
+        }
+        return new EventIndex(build(sorted, depths, 0, sorted.size()));
+    }
+
+    /**
+     * Returns the number of events in the index.
+     * @return The number of events in the index.
+     */
+    int size() {
+        return root == null ? 0 : root.size;
+    }
+
+    /**
+     * Returns a new index with the event added.
+     * @param event The event to be added.
+     * @return The new index.
+     */
+    EventIndex with(Event event) {
+        assert event != null : "[duke.EventIndex.with]: event parameter should not be null.";
+
+        Node node = Node.of(event, ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE));
+        return new EventIndex(insert(root, node));
+    }
+
+    /**
+     * Returns a new index without the event, the same one and not an equal one.
+     * @param event The event to be removed.
+     * @return The new index, or this index if the event is not in it.
+     */
+    EventIndex without(Event event) {
+        assert event != null : "[duke.EventIndex.without]: event parameter should not be null.";
+
+        long start = startOf(event);
+        long end = endOf(event, start);
+        Node[] before = split(root, start, end, false);
+        Node[] same = split(before[1], start, end, true);
+        Node remaining = removeSame(same[0], event);
+        if (remaining == same[0]) {
+            return this;
+        }
+        return new EventIndex(merge(merge(before[0], remaining), same[1]));
+    }
+
+    /**
+     * Returns the events overlapping an event, other than the event itself.
+     * @param event The event.
+     * @return The overlapping events, in the order of their start.
+     */
+    List<Task> overlapping(Event event) {
+        assert event != null : "[duke.EventIndex.overlapping]: event parameter should not be null.";
+
+        List<Task> overlaps = new ArrayList<>();
+        long start = startOf(event);
+        collectOverlapping(root, start, endOf(event, start), event, overlaps);
+        return overlaps;
+    }
+
+    /**
+     * Returns every pair of overlapping events, each pair once, in O(n + k).
+     * As the events are walked in the order of their start, the events overlapping one of them and starting
+     * no earlier are the ones right after it, up to the first starting after it ends.
+     * @return The overlapping events, two by two, the earlier starting first.
+     */
+    List<Task> conflicts() {
+        List<Task> pairs = new ArrayList<>();
+        Node[] nodes = new Node[size()];
+        flatten(root, nodes, 0);
+        for (int i = 0; i < nodes.length; i++) {
+            Node node = nodes[i];
+            for (int j = i + 1; j < nodes.length && isOverlapping(node, nodes[j].start, nodes[j].end); j++) {
+                pairs.add(node.event);
+                pairs.add(nodes[j].event);
+            }
+        }
+        return pairs;
+    }
+
+    private static boolean isOverlapping(Node node, long start, long end) {
+        return node.start == start || (node.start < end && start < node.end);
+    }
+
+    private static void collectOverlapping(Node node, long start, long end, Event event, List<Task> overlaps) {
+        if (node == null || node.maxEnd < start) {
+            return;
+        }
+        collectOverlapping(node.left, start, end, event, overlaps);
+        if (node.event != event && isOverlapping(node, start, end)) {
+            overlaps.add(node.event);
+        }
+        // The events on the right start no earlier than this one.
+        if (node.start < end || node.start <= start) {
+            collectOverlapping(node.right, start, end, event, overlaps);
+        }
+    }
+
+    private static Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (inserted.priority > node.priority) {
+            Node[] parts = split(node, inserted.start, inserted.end, false);
+            return inserted.withChildren(parts[0], parts[1]);
+        }
+        if (compare(inserted.start, inserted.end, node) < 0) {
+            return node.withChildren(insert(node.left, inserted), node.right);
+        }
+        return node.withChildren(node.left, insert(node.right, inserted));
+    }
+
+    /**
+     * Splits a tree into the nodes before a key and the others, or into the nodes up to the key and the others.
+     */
+    private static Node[] split(Node node, long start, long end, boolean isKeyIncluded) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        int comparison = compare(start, end, node);
+        if (comparison > 0 || (comparison == 0 && isKeyIncluded)) {
+            Node[] parts = split(node.right, start, end, isKeyIncluded);
+            parts[0] = node.withChildren(node.left, parts[0]);
+            return parts;
+        }
+        Node[] parts = split(node.left, start, end, isKeyIncluded);
+        parts[1] = node.withChildren(parts[1], node.right);
+        return parts;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            return left.withChildren(left.left, merge(left.right, right));
+        }
+        return right.withChildren(merge(left, right.left), right.right);
+    }
+
+    /**
+     * Removes an event from a tree of events all sharing its times.
+     */
+    private static Node removeSame(Node node, Event event) {
+        if (node == null) {
+            return null;
+        }
+        if (node.event == event) {
+            return merge(node.left, node.right);
+        }
+        Node left = removeSame(node.left, event);
+        if (left != node.left) {
+            return node.withChildren(left, node.right);
+        }
+        Node right = removeSame(node.right, event);
+        return right == node.right ? node : node.withChildren(node.left, right);
+    }
+
+    private static int flatten(Node node, Node[] nodes, int index) {
+        if (node == null) {
+            return index;
+        }
+        index = flatten(node.left, nodes, index);
+        nodes[index++] = node;
+        return flatten(node.right, nodes, index);
+    }
+
+    private static int assignDepths(int[] depths, int from, int to, int depth) {
+        if (from >= to) {
+            return depth - 1;
+        }
+        int middle = (from + to) >>> 1;
+        depths[middle] = depth;
+        return Math.max(assignDepths(depths, from, middle, depth + 1), assignDepths(depths, middle + 1, to, depth + 1));
+    }
+
+    private static Node build(List<Node> sorted, int[] priorities, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        Node node = sorted.get(middle);
+        return new Node(node.event, node.start, node.end, priorities[middle], build(sorted, priorities, from, middle),
+                build(sorted, priorities, middle + 1, to));
+    }
+
+    private static int compare(long start, long end, Node node) {
+        int comparison = Long.compare(start, node.start);
+        return comparison != 0 ? comparison : Long.compare(end, node.end);
+    }
+
+    private static long startOf(Event event) {
+        return toSeconds(event.getDate());
+    }
+
+    private static long endOf(Event event, long start) {
+        LocalDateTime endDate = event.getEndDate();
+        return endDate == null ? start : Math.max(start, toSeconds(endDate));
+    }
+
+    private static long toSeconds(LocalDateTime date) {
+        return date.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * A node of the tree, never changed once built.
+     */
+    private static class Node {
+        private final Event event;
+        private final long start;
+        private final long end;
+        private final int priority;
+        private final Node left;
+        private final Node right;
+
+        /** The latest end in the subtree */
+        private final long maxEnd;
+
+        /** The number of nodes in the subtree */
+        private final int size;
+
+        private Node(Event event, long start, long end, int priority, Node left, Node right) {
+            this.event = event;
+            this.start = start;
+            this.end = end;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            long maxEnd = end;
+            int size = 1;
+            if (left != null) {
+                maxEnd = Math.max(maxEnd, left.maxEnd);
+                size += left.size;
+            }
+            if (right != null) {
+                maxEnd = Math.max(maxEnd, right.maxEnd);
+                size += right.size;
+            }
+            this.maxEnd = maxEnd;
+            this.size = size;
+        }
+
+        private static Node of(Event event, int priority) {
+            long start = startOf(event);
+            return new Node(event, start, endOf(event, start), priority, null, null);
+        }
+
+        private Node withChildren(Node left, Node right) {
+            return left == this.left && right == this.right
+                    ? this
+                    : new Node(event, start, end, priority, left, right);
+        }
+    }
+}
@@ -3,12 +3,15 @@ package duke;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
 
 import duke.command.ByeCommand;
 import duke.command.Command;
+import duke.command.ConflictsCommand;
 import duke.command.DatesCommand;
 import duke.command.DeadlineCommand;
 import duke.command.DeleteCommand;
@@ -17,7 +20,11 @@ import duke.command.EventCommand;
 import duke.command.FindCommand;
 import duke.command.HelpCommand;
 import duke.command.ListCommand;
+import duke.command.StatsCommand;
+import duke.command.SummaryCommand;
 import duke.command.TodoCommand;
+import duke.query.Condition;
+import duke.query.Query;
 
 
 /**
@@ -25,6 +32,13 @@ import duke.command.TodoCommand;
  */
 public class Parser {
 
+    /** The example shown when a query is invalid */
+    private static final String QUERY_EXAMPLE =
+            " (example: 'list where type=deadline and done=false and by<2021-09-01 order by date limit 20 explain')";
+
+    /** The characters making up the operators of a query */
+    private static final String QUERY_OPERATOR_CHARS = "<>=~";
+
     /** The list of tasks */
     private TaskList taskList;
 
@@ -48,64 +62,61 @@ public class Parser {
         // Splitting of raw input by white space.
         String[] inputs = rawInput.split("\\s+");
         if (inputs.length < 1) {
-            throw new DukeException(DukeException.Errors.INVALID_COMMAND.toString());
+            throw DukeException.of(DukeException.Errors.INVALID_COMMAND);
         }
 
         // Check if the command is valid.
         Constant.Command command;
         String commandStr = inputs[0].toUpperCase();
-        try {
-            command = Constant.Command.valueOf(commandStr);
-        } catch (Exception e) {
-            throw new DukeException(DukeException.Errors.INVALID_COMMAND.toString());
+        command = Constant.Command.fromString(commandStr);
+        if (command == null) {
+            throw DukeException.of(DukeException.Errors.INVALID_COMMAND);
         }
 
         // Process the command and the raw input.
         switch (command) {
         case LIST:
-            if (inputs.length != 1) {
-                throw new DukeException(DukeException.Errors.INVALID_ARGUMENT.toString()
-                        + " `list` command has no arguments");
+            if (inputs.length == 1) {
+                return new ListCommand(taskList);
             }
-            return new ListCommand(taskList);
+            // Everything after the command word is the query.
+            return new ListCommand(parseQuery(rawInput.trim().substring(inputs[0].length())), taskList);
 
         case DONE:
             if (inputs.length != 2) {
-                throw new DukeException(DukeException.Errors.INVALID_ARGUMENT.toString()
-                        + " (example: 'done 5')");
+                throw new DukeException(DukeException.Errors.INVALID_ARGUMENT,
+                        " (example: 'done 5')");
             }
-            try {
-                // The index in the backend is 0-based (that's why the input is subtracted by 1).
-                int index = convertToInt(inputs[1]) - 1;
-                return new DoneCommand(index, taskList);
-            } catch (Exception e) {
-                throw new DukeException(DukeException.Errors.WRONG_ARGUMENT_TYPE.toString()
-                        + " (example: 'done 5')");
+            if (!isInteger(inputs[1])) {
+                throw new DukeException(DukeException.Errors.WRONG_ARGUMENT_TYPE,
+                        " (example: 'done 5')");
             }
+            // The index in the backend is 0-based (that's why the input is subtracted by 1).
+            return new DoneCommand(convertToInt(inputs[1]) - 1, taskList);
 
         case TODO:
             if (inputs.length < 2) {
-                throw new DukeException(DukeException.Errors.MISSING_DESCRIPTION.toString()
-                        + " (example: 'todo watch Borat')");
+                throw new DukeException(DukeException.Errors.MISSING_DESCRIPTION,
+                        " (example: 'todo watch Borat')");
             }
             String description = combineStringArray(inputs, 1, inputs.length);
             return new TodoCommand(description, taskList);
 
         case DEADLINE:
             if (inputs.length < 2) {
-                throw new DukeException(DukeException.Errors.MISSING_DESCRIPTION.toString()
-                        + " (example: 'deadline watch Borat /by 2021-08-21 18:00')");
+                throw new DukeException(DukeException.Errors.MISSING_DESCRIPTION,
+                        " (example: 'deadline watch Borat /by 2021-08-21 18:00')");
             }
 
             // Split the deadline description and date.
             String argument = combineStringArray(inputs, 1, inputs.length);
             String[] arguments = argument.split(" /by ");
             if (arguments.length < 2) {
-                throw new DukeException(DukeException.Errors.MISSING_DATE.toString()
-                        + " (example: 'deadline watch Borat /by 2021-08-21 18:00')");
+                throw new DukeException(DukeException.Errors.MISSING_DATE,
+                        " (example: 'deadline watch Borat /by 2021-08-21 18:00')");
             } else if (arguments.length > 2) {
-                throw new DukeException(DukeException.Errors.INVALID_DATE.toString()
-                        + " (example: 'deadline watch Borat /by 2021-08-21 18:00')");
+                throw new DukeException(DukeException.Errors.INVALID_DATE,
+                        " (example: 'deadline watch Borat /by 2021-08-21 18:00')");
             }
 
             // Get the deadline date.
@@ -114,71 +125,119 @@ public class Parser {
 
         case EVENT:
             if (inputs.length < 2) {
-                throw new DukeException(DukeException.Errors.MISSING_DESCRIPTION.toString()
-                        + " (example: 'event Borat concert /at 2021-08-21 18:00')");
+                throw new DukeException(DukeException.Errors.MISSING_DESCRIPTION,
+                        " (example: 'event Borat concert /at 2021-08-21 18:00')");
             }
 
             // Split the event description and date.
             String arg = combineStringArray(inputs, 1, inputs.length);
             String[] args = arg.split(" /at ");
             if (args.length < 2) {
-                throw new DukeException(DukeException.Errors.MISSING_DATE.toString()
-                        + " (example: 'event watch Borat /at 2021-08-21 18:00')");
+                throw new DukeException(DukeException.Errors.MISSING_DATE,
+                        " (example: 'event watch Borat /at 2021-08-21 18:00')");
             } else if (args.length > 2) {
-                throw new DukeException(DukeException.Errors.INVALID_DATE.toString()
-                        + " (example: 'event watch Borat /at 2021-08-21 18:00')");
+                throw new DukeException(DukeException.Errors.INVALID_DATE,
+                        " (example: 'event watch Borat /at 2021-08-21 18:00')");
             }
 
-            // Get the event date.
-            String eventDate = parseDateTime(args[1]);
-            return new EventCommand(args[0], eventDate, taskList);
+            // Get the event date, and the end date if there is one.
+            String[] dates = args[1].split(" /to ");
+            if (dates.length > 2) {
+                throw new DukeException(DukeException.Errors.INVALID_DATE,
+                        " (example: 'event watch Borat /at 2021-08-21 18:00 /to 2021-08-21 20:00')");
+            }
+            String eventDate = parseDateTime(dates[0]);
+            String endDate = null;
+            if (dates.length == 2) {
+                endDate = parseDateTime(dates[1]);
+                if (LocalDateTime.parse(endDate).isBefore(LocalDateTime.parse(eventDate))) {
+                    throw new DukeException(DukeException.Errors.INVALID_DATE,
+                            " The event cannot end before it starts.");
+                }
+            }
+            return new EventCommand(args[0], eventDate, endDate, taskList);
 
         case BYE:
             if (inputs.length != 1) {
-                throw new DukeException(DukeException.Errors.INVALID_ARGUMENT.toString()
-                        + " `bye` command has no arguments");
+                throw new DukeException(DukeException.Errors.INVALID_ARGUMENT,
+                        " `bye` command has no arguments");
             }
             return new ByeCommand();
 
         case DELETE:
             if (inputs.length != 2) {
-                throw new DukeException(DukeException.Errors.INVALID_ARGUMENT.toString()
-                        + " (example: 'delete 5')");
+                throw new DukeException(DukeException.Errors.INVALID_ARGUMENT,
+                        " (example: 'delete 5')");
             }
-            try {
-                // The index in the backend is 0-based (that's why the input is subtracted by 1).
-                int index = convertToInt(inputs[1]) - 1;
-                return new DeleteCommand(index, taskList);
-            } catch (Exception e) {
-                throw new DukeException(DukeException.Errors.WRONG_ARGUMENT_TYPE.toString()
-                        + " (example: 'delete 5')");
+            if (!isInteger(inputs[1])) {
+                throw new DukeException(DukeException.Errors.WRONG_ARGUMENT_TYPE,
+                        " (example: 'delete 5')");
             }
+            // The index in the backend is 0-based (that's why the input is subtracted by 1).
+            return new DeleteCommand(convertToInt(inputs[1]) - 1, taskList);
 
         case HELP:
             if (inputs.length != 1) {
-                throw new DukeException(DukeException.Errors.INVALID_ARGUMENT.toString()
-                        + " `help` command has no arguments");
+                throw new DukeException(DukeException.Errors.INVALID_ARGUMENT,
+                        " `help` command has no arguments");
             }
             return new HelpCommand();
 
         case DATES:
             if (inputs.length != 1) {
-                throw new DukeException(DukeException.Errors.INVALID_ARGUMENT.toString()
-                        + " `dates` command has no arguments");
+                throw new DukeException(DukeException.Errors.INVALID_ARGUMENT,
+                        " `dates` command has no arguments");
             }
             return new DatesCommand();
 
+        case STATS:
+            if (inputs.length == 1) {
+                return new StatsCommand(StatsCommand.Action.SHOW);
+            } else if (inputs.length == 2 && inputs[1].equalsIgnoreCase("on")) {
+                return new StatsCommand(StatsCommand.Action.ON);
+            } else if (inputs.length == 2 && inputs[1].equalsIgnoreCase("off")) {
+                return new StatsCommand(StatsCommand.Action.OFF);
+            }
+            throw new DukeException(DukeException.Errors.INVALID_ARGUMENT,
+                    " (example: 'stats', 'stats on' or 'stats off')");
+
+        case SUMMARY:
+            if (inputs.length != 1) {
+                throw new DukeException(DukeException.Errors.INVALID_ARGUMENT,
+                        " `summary` command has no arguments");
+            }
+            return new SummaryCommand(taskList);
+
+        case CONFLICTS:
+            if (inputs.length != 1) {
+                throw new DukeException(DukeException.Errors.INVALID_ARGUMENT,
+                        " `conflicts` command has no arguments");
+            }
+            return new ConflictsCommand(taskList);
+
         case FIND:
             if (inputs.length < 2) {
-                throw new DukeException(DukeException.Errors.MISSING_DESCRIPTION.toString()
-                        + " (example: 'find book')");
+                throw new DukeException(DukeException.Errors.MISSING_DESCRIPTION,
+                        " (example: 'find book')");
             }
-            String keyword = combineStringArray(inputs, 1, inputs.length);
-            return new FindCommand(keyword, taskList);
+            // A trailing `limit k` keeps the k best matches.
+            int keywordEnd = inputs.length;
+            int limit = Integer.MAX_VALUE;
+            if (inputs.length >= 4 && inputs[inputs.length - 2].equalsIgnoreCase("limit")
+                    && isInteger(inputs[inputs.length - 1])) {
+                limit = convertToInt(inputs[inputs.length - 1]);
+                keywordEnd -= 2;
+                if (limit <= 0) {
+                    throw new DukeException(DukeException.Errors.INVALID_ARGUMENT,
+                            " (example: 'find book limit 5')");
+                }
+            }
+            String keyword = combineStringArray(inputs, 1, keywordEnd);
+            return new FindCommand(keyword, limit, taskList);
 
         default:
             // Invalid command
-            throw new DukeException(DukeException.Errors.INVALID_ARGUMENT.toString());
+            throw DukeException.of(DukeException.Errors.INVALID_ARGUMENT);
         }
     }
 
@@ -208,12 +267,12 @@ public class Parser {
 
             break;
         case "E":
-            // Add an event task.
-            task = new Event(datas[2], datas[3]);
+            // Add an event task, with its end time if it has one.
+            task = new Event(datas[2], datas[3], datas.length > 4 ? datas[4] : null);
 
             break;
         default:
-            throw new DukeException(DukeException.Errors.INVALID_COMMAND.toString());
+            throw DukeException.of(DukeException.Errors.INVALID_COMMAND);
         }
         if (task != null) {
             if (isDone) {
@@ -221,7 +280,228 @@ public class Parser {
             }
             return task;
         }
-        throw new DukeException(DukeException.Errors.INVALID_COMMAND.toString());
+        throw DukeException.of(DukeException.Errors.INVALID_COMMAND);
+    }
+
+    /**
+     * Returns the query of a list command.
+     * The query is `[where condition [and condition]...] [order by field [asc|desc]] [limit n] [explain]`.
+     * A date in a condition may be followed by a time, quoted or not.
+     * @param input The query.
+     * @return The parsed query.
+     * @throws DukeException Thrown when the query is invalid.
+     */
+    private Query parseQuery(String input) throws DukeException {
+        List<String> tokens = tokenizeQuery(input);
+        List<Condition> conditions = new ArrayList<>();
+        Condition.Field orderBy = null;
+        boolean isDescending = false;
+        int limit = Query.NO_LIMIT;
+        boolean isExplain = false;
+
+        int i = 0;
+        if (isQueryKeyword(tokens, i, "where")) {
+            do {
+                if (i + 3 >= tokens.size()) {
+                    throw new DukeException(DukeException.Errors.INVALID_QUERY, QUERY_EXAMPLE);
+                }
+                String value = tokens.get(i + 3);
+                int end = i + 4;
+                if (isDateField(tokens.get(i + 1)) && !value.startsWith("\"") && end < tokens.size()
+                        && isTimeToken(tokens.get(end))) {
+                    // The time after an unquoted date, as in by<2021-09-01 18:00.
+                    value += " " + tokens.get(end);
+                    end++;
+                }
+                conditions.add(parseCondition(tokens.get(i + 1), tokens.get(i + 2), value));
+                i = end;
+            } while (isQueryKeyword(tokens, i, "and"));
+        }
+        if (isQueryKeyword(tokens, i, "order")) {
+            if (!isQueryKeyword(tokens, i + 1, "by") || i + 2 >= tokens.size()) {
+                throw new DukeException(DukeException.Errors.INVALID_QUERY, QUERY_EXAMPLE);
+            }
+            orderBy = parseOrderField(tokens.get(i + 2));
+            i += 3;
+            if (isQueryKeyword(tokens, i, "asc")) {
+                i++;
+            } else if (isQueryKeyword(tokens, i, "desc")) {
+                isDescending = true;
+                i++;
+            }
+        }
+        if (isQueryKeyword(tokens, i, "limit")) {
+            if (i + 1 >= tokens.size() || !isInteger(tokens.get(i + 1)) || convertToInt(tokens.get(i + 1)) < 0) {
+                throw new DukeException(DukeException.Errors.INVALID_QUERY, " The limit should be a number.");
+            }
+            limit = convertToInt(tokens.get(i + 1));
+            i += 2;
+        }
+        if (isQueryKeyword(tokens, i, "explain")) {
+            isExplain = true;
+            i++;
+        }
+        if (i != tokens.size()) {
+            throw new DukeException(DukeException.Errors.INVALID_QUERY, QUERY_EXAMPLE);
+        }
+        return new Query(conditions, orderBy, isDescending, limit, isExplain);
+    }
+
+    /**
+     * Returns the words, operators and quoted strings of a query.
+     * Quoted strings keep their opening quote, to tell them apart from keywords.
+     * @param input The query.
+     * @return The tokens of the query.
+     * @throws DukeException Thrown when a quote is not closed.
+     */
+    private static List<String> tokenizeQuery(String input) throws DukeException {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < input.length()) {
+            char c = input.charAt(i);
+            int end = i + 1;
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            } else if (c == '"') {
+                end = input.indexOf('"', i + 1);
+                if (end < 0) {
+                    throw new DukeException(DukeException.Errors.INVALID_QUERY, " A quote is not closed.");
+                }
+                tokens.add(input.substring(i, end));
+                i = end + 1;
+                continue;
+            } else if (QUERY_OPERATOR_CHARS.indexOf(c) >= 0) {
+                if ((c == '<' || c == '>') && end < input.length() && input.charAt(end) == '=') {
+                    end++;
+                }
+            } else {
+                while (end < input.length() && !Character.isWhitespace(input.charAt(end))
+                        && input.charAt(end) != '"' && QUERY_OPERATOR_CHARS.indexOf(input.charAt(end)) < 0) {
+                    end++;
+                }
+            }
+            tokens.add(input.substring(i, end));
+            i = end;
+        }
+        return tokens;
+    }
+
+    private static boolean isDateField(String field) {
+        return field.equalsIgnoreCase("date") || field.equalsIgnoreCase("by") || field.equalsIgnoreCase("at");
+    }
+
+    /** A time is digits with an optional colon, which no keyword of a query looks like. */
+    private static boolean isTimeToken(String token) {
+        if (!Character.isDigit(token.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < token.length(); i++) {
+            if (!Character.isDigit(token.charAt(i)) && token.charAt(i) != ':') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isQueryKeyword(List<String> tokens, int index, String keyword) {
+        return index < tokens.size() && tokens.get(index).equalsIgnoreCase(keyword);
+    }
+
+    /**
+     * Returns a condition of a query, such as `done=false`.
+     * @param field The field token.
+     * @param operator The operator token.
+     * @param valueToken The value token, a word, a date with its time or a quoted string.
+     * @return The condition.
+     * @throws DukeException Thrown when the condition is invalid.
+     */
+    private Condition parseCondition(String field, String operator, String valueToken) throws DukeException {
+        boolean isQuoted = valueToken.startsWith("\"");
+        String value = isQuoted ? valueToken.substring(1) : valueToken;
+        String text = field + operator + (isQuoted ? valueToken + "\"" : valueToken);
+        if (QUERY_OPERATOR_CHARS.indexOf(operator.charAt(0)) < 0 || value.isEmpty()) {
+            throw new DukeException(DukeException.Errors.INVALID_QUERY, QUERY_EXAMPLE);
+        }
+
+        switch (field.toLowerCase()) {
+        case "type":
+            for (Condition.Type type : Condition.Type.values()) {
+                if (operator.equals("=") && type.name().equalsIgnoreCase(value)) {
+                    return Condition.ofType(type, text);
+                }
+            }
+            throw new DukeException(DukeException.Errors.INVALID_QUERY, " (example: 'type=deadline')");
+        case "done":
+            if (operator.equals("=") && (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false"))) {
+                return Condition.ofDone(value.equalsIgnoreCase("true"), text);
+            }
+            throw new DukeException(DukeException.Errors.INVALID_QUERY, " (example: 'done=false')");
+        case "date":
+            return parseDateCondition(Condition.Field.DATE, operator, value, text);
+        case "by":
+            return parseDateCondition(Condition.Field.BY, operator, value, text);
+        case "at":
+            return parseDateCondition(Condition.Field.AT, operator, value, text);
+        case "text":
+            if (operator.equals("~")) {
+                return Condition.ofText(value, text);
+            }
+            throw new DukeException(DukeException.Errors.INVALID_QUERY, " (example: 'text~\"report\"')");
+        default:
+            throw new DukeException(DukeException.Errors.INVALID_QUERY,
+                    " Conditions are on type, done, date, by, at or text.");
+        }
+    }
+
+    /**
+     * Returns a condition on a date. A date without a time stands for the whole day.
+     * @param field DATE, BY or AT.
+     * @param operator One of <, <=, >, >= and =.
+     * @param value The date, with an optional time.
+     * @param text The condition as typed.
+     * @return The condition.
+     * @throws DukeException Thrown when the date or the operator is invalid.
+     */
+    private Condition parseDateCondition(Condition.Field field, String operator, String value, String text)
+            throws DukeException {
+        String trimmed = value.trim();
+        boolean hasTime = trimmed.split("\\s+").length > 1;
+        LocalDateTime start = LocalDateTime.parse(parseDateTime(trimmed));
+        if (!hasTime) {
+            start = start.toLocalDate().atStartOfDay();
+        }
+        LocalDateTime end = hasTime ? start.plusMinutes(1) : start.plusDays(1);
+        switch (operator) {
+        case "<":
+            return Condition.ofDate(field, null, start, text);
+        case "<=":
+            return Condition.ofDate(field, null, end, text);
+        case ">":
+            return Condition.ofDate(field, end, null, text);
+        case ">=":
+            return Condition.ofDate(field, start, null, text);
+        case "=":
+            return Condition.ofDate(field, start, end, text);
+        default:
+            throw new DukeException(DukeException.Errors.INVALID_QUERY, " (example: 'by<2021-09-01')");
+        }
+    }
+
+    private static Condition.Field parseOrderField(String field) throws DukeException {
+        switch (field.toLowerCase()) {
+        case "date":
+            return Condition.Field.DATE;
+        case "text":
+            return Condition.Field.TEXT;
+        case "type":
+            return Condition.Field.TYPE;
+        case "done":
+            return Condition.Field.DONE;
+        default:
+            throw new DukeException(DukeException.Errors.INVALID_QUERY,
+                    " Tasks can be ordered by date, text, type or done.");
+        }
     }
 
     /**
@@ -235,8 +515,30 @@ public class Parser {
         try {
             return Integer.parseInt(number);
         } catch (Exception e) {
-            throw new DukeException(DukeException.Errors.INVALID_ARGUMENT.toString());
+            throw DukeException.of(DukeException.Errors.INVALID_ARGUMENT);
+        }
+    }
+
+    /**
+     * Returns true if the string is a number that fits in an int.
+     * @param number The string to be checked.
+     * @return True if the string is a number that fits in an int.
+     */
+    public static boolean isInteger(String number) {
+        assert number != null : "[duke.Parser.isInteger]: number parameter should not be null.";
+        int length = number.length();
+        int start = length > 0 && (number.charAt(0) == '-' || number.charAt(0) == '+') ? 1 : 0;
+        if (length == start || length - start > 10) {
+            return false;
+        }
+        for (int i = start; i < length; ++i) {
+            if (!Character.isDigit(number.charAt(i))) {
+                return false;
+            }
         }
+        // At most 10 digits, so parsing as a long cannot fail.
+        long value = Long.parseLong(number);
+        return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE;
     }
 
     /**
@@ -251,15 +553,52 @@ public class Parser {
         String[] dateTime = input.split("\\s+");
         String result = parseDate(dateTime) + parseTime(dateTime);
 
-        // Test for validity
-        try {
-            LocalDateTime.parse(result);
-        } catch (DateTimeParseException e) {
-            throw new DukeException(DukeException.Errors.INVALID_DATE.toString());
+        if (!isValidDateTime(result)) {
+            throw DukeException.of(DukeException.Errors.INVALID_DATE);
         }
         return result;
     }
 
+    /**
+     * Returns true if the string is a valid date time in the form yyyy-MM-ddTHH:mm.
+     * @param dateTime The date time string.
+     * @return True if the string is a valid date time.
+     */
+    private static boolean isValidDateTime(String dateTime) {
+        if (dateTime.length() != 16 || dateTime.charAt(4) != '-' || dateTime.charAt(7) != '-'
+                || dateTime.charAt(10) != 'T' || dateTime.charAt(13) != ':') {
+            return false;
+        }
+        int year = toDigits(dateTime, 0, 4);
+        int month = toDigits(dateTime, 5, 7);
+        int day = toDigits(dateTime, 8, 10);
+        int hour = toDigits(dateTime, 11, 13);
+        int minute = toDigits(dateTime, 14, 16);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return false;
+        }
+        return day <= YearMonth.of(year, month).lengthOfMonth();
+    }
+
+    /**
+     * Returns the number made of the ASCII digits in the given range, or -1 if there is any other character.
+     * @param str The string.
+     * @param start The start of the range (inclusive).
+     * @param end The end of the range (exclusive).
+     * @return The number, or -1 if the range is not all digits.
+     */
+    private static int toDigits(String str, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; ++i) {
+            char c = str.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
     /**
      * Returns a parsed date as a String.
      * @param dateTime String array of date and time.
@@ -271,70 +610,67 @@ public class Parser {
         String formatPattern = "yyyy-MM-dd";
         String result = "";
         LocalDate todayDate = LocalDate.now();
-        try {
-            switch (date) {
-            case "TODAY":
-                result += todayDate.format(DateTimeFormatter.ofPattern(formatPattern));
-
-                break;
-            case "TOMORROW":
-                LocalDate tomorrowDate = todayDate.plusDays(1);
-                result += tomorrowDate.format(DateTimeFormatter.ofPattern(formatPattern));
-
-                break;
-            case "MON":
-            case "MONDAY":
-                LocalDate nextMonday = todayDate.with(TemporalAdjusters.next(DayOfWeek.MONDAY));
-                result += nextMonday.format(DateTimeFormatter.ofPattern(formatPattern));
-
-                break;
-            case "TUE":
-            case "TUESDAY":
-                LocalDate nextTuesday = todayDate.with(TemporalAdjusters.next(DayOfWeek.TUESDAY));
-                result += nextTuesday.format(DateTimeFormatter.ofPattern(formatPattern));
-
-                break;
-            case "WED":
-            case "WEDNESDAY":
-                LocalDate nextWednesday = todayDate.with(TemporalAdjusters.next(DayOfWeek.WEDNESDAY));
-                result += nextWednesday.format(DateTimeFormatter.ofPattern(formatPattern));
-
-                break;
-            case "THU":
-            case "THURSDAY":
-                LocalDate nextThursday = todayDate.with(TemporalAdjusters.next(DayOfWeek.THURSDAY));
-                result += nextThursday.format(DateTimeFormatter.ofPattern(formatPattern));
-
-                break;
-            case "FRI":
-            case "FRIDAY":
-                LocalDate nextFriday = todayDate.with(TemporalAdjusters.next(DayOfWeek.FRIDAY));
-                result += nextFriday.format(DateTimeFormatter.ofPattern(formatPattern));
-
-                break;
-            case "SAT":
-            case "SATURDAY":
-                LocalDate nextSaturday = todayDate.with(TemporalAdjusters.next(DayOfWeek.SATURDAY));
-                result += nextSaturday.format(DateTimeFormatter.ofPattern(formatPattern));
-
-                break;
-            case "SUN":
-            case "SUNDAY":
-                LocalDate nextSunday = todayDate.with(TemporalAdjusters.next(DayOfWeek.SUNDAY));
-                result += nextSunday.format(DateTimeFormatter.ofPattern(formatPattern));
-
-                break;
-            default:
-                String[] date1 = date.split("-");
-                String[] date2 = date.split("/");
-                if (date1.length == 3 || date2.length == 3) {
-                    result = date1.length == 3 ? stringToDate(date1) : stringToDate(date2);
-                } else {
-                    throw new DukeException(DukeException.Errors.INVALID_DATE.toString());
-                }
+        switch (date) {
+        case "TODAY":
+            result += todayDate.format(DateTimeFormatter.ofPattern(formatPattern));
+
+            break;
+        case "TOMORROW":
+            LocalDate tomorrowDate = todayDate.plusDays(1);
+            result += tomorrowDate.format(DateTimeFormatter.ofPattern(formatPattern));
+
+            break;
+        case "MON":
+        case "MONDAY":
+            LocalDate nextMonday = todayDate.with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+            result += nextMonday.format(DateTimeFormatter.ofPattern(formatPattern));
+
+            break;
+        case "TUE":
+        case "TUESDAY":
+            LocalDate nextTuesday = todayDate.with(TemporalAdjusters.next(DayOfWeek.TUESDAY));
+            result += nextTuesday.format(DateTimeFormatter.ofPattern(formatPattern));
+
+            break;
+        case "WED":
+        case "WEDNESDAY":
+            LocalDate nextWednesday = todayDate.with(TemporalAdjusters.next(DayOfWeek.WEDNESDAY));
+            result += nextWednesday.format(DateTimeFormatter.ofPattern(formatPattern));
+
+            break;
+        case "THU":
+        case "THURSDAY":
+            LocalDate nextThursday = todayDate.with(TemporalAdjusters.next(DayOfWeek.THURSDAY));
+            result += nextThursday.format(DateTimeFormatter.ofPattern(formatPattern));
+
+            break;
+        case "FRI":
+        case "FRIDAY":
+            LocalDate nextFriday = todayDate.with(TemporalAdjusters.next(DayOfWeek.FRIDAY));
+            result += nextFriday.format(DateTimeFormatter.ofPattern(formatPattern));
+
+            break;
+        case "SAT":
+        case "SATURDAY":
+            LocalDate nextSaturday = todayDate.with(TemporalAdjusters.next(DayOfWeek.SATURDAY));
+            result += nextSaturday.format(DateTimeFormatter.ofPattern(formatPattern));
+
+            break;
+        case "SUN":
+        case "SUNDAY":
+            LocalDate nextSunday = todayDate.with(TemporalAdjusters.next(DayOfWeek.SUNDAY));
+            result += nextSunday.format(DateTimeFormatter.ofPattern(formatPattern));
+
+            break;
+        default:
+            String[] date1 = date.split("-");
+            String[] date2 = date.split("/");
+            if (date1.length == 3 || date2.length == 3) {
+                result = date1.length == 3 ? stringToDate(date1) : stringToDate(date2);
+            }
+            if (result == null || result.isEmpty()) {
+                throw DukeException.of(DukeException.Errors.INVALID_DATE);
             }
-        } catch (Exception e) {
-            throw new DukeException(DukeException.Errors.INVALID_DATE.toString());
         }
         return result;
     }
@@ -363,15 +699,12 @@ public class Parser {
         assert time != null : "[duke.Parser.stringToTime]: time parameter should not be null.";
         String[] splitTime = time.split(":");
         if (splitTime.length > 2 || splitTime.length < 1) {
-            throw new DukeException(DukeException.Errors.INVALID_TIME.toString());
+            throw DukeException.of(DukeException.Errors.INVALID_TIME);
         }
         for (String s : splitTime) {
-            try {
-                // Check if all the string are numbers:
-                convertToInt(s);
-            } catch (Exception e) {
-                System.out.println("Time is not a number");
-                throw new DukeException(DukeException.Errors.INVALID_TIME.toString());
+            // Check if all the string are numbers:
+            if (!isInteger(s)) {
+                throw DukeException.of(DukeException.Errors.INVALID_TIME);
             }
         }
         if (splitTime.length == 2) {
@@ -392,25 +725,20 @@ public class Parser {
                 return hh + ":" + mm;
             }
         }
-        throw new DukeException(DukeException.Errors.INVALID_TIME.toString());
+        throw DukeException.of(DukeException.Errors.INVALID_TIME);
     }
 
     /**
      * Returns a valid date string from a date array.
      * @param date A String array e.g. [yyyy, mm, dd].
      * @return Null if invalid, else a string representation of the date -> yyyy-mm-dd.
-     * @throws DukeException An invalid date will produce this
      */
-    private String stringToDate(String[] date) throws DukeException {
+    private String stringToDate(String[] date) {
         assert date != null : "[duke.Parser.stringToDate]: date parameter should not be null.";
         // can be [yyyy, mm, dd] or [dd, mm, yyyy]
-        try {
-            // Check if all the string are numbers:
-            convertToInt(date[0]);
-            convertToInt(date[1]);
-            convertToInt(date[2]);
-        } catch (Exception e) {
-            throw new DukeException(DukeException.Errors.INVALID_DATE.toString() + " Date is not a number.");
+        // Check if all the string are numbers:
+        if (!isInteger(date[0]) || !isInteger(date[1]) || !isInteger(date[2])) {
+            return null;
         }
 
         if (date[0].length() == 4
@@ -418,8 +746,8 @@ public class Parser {
                 && (date[2].length() == 1 || date[2].length() == 2)) {
             // In the form of [yyyy, mm, dd]
             String year = date[0];
-            String month = String.format("%02d", convertToInt(date[1]));
-            String day = String.format("%02d", convertToInt(date[2]));
+            String month = String.format("%02d", Integer.parseInt(date[1]));
+            String day = String.format("%02d", Integer.parseInt(date[2]));
             return year + "-" + month + "-" + day;
         } else if ((date[0].length() == 1 || date[0].length() == 2)
                 && (date[1].length() == 1 || date[1].length() == 2)
@@ -427,11 +755,11 @@ public class Parser {
         ) {
             // In the form of [dd, mm, yyyy]
             String year = date[2];
-            String month = String.format("%02d", convertToInt(date[1]));
-            String day = String.format("%02d", convertToInt(date[0]));
+            String month = String.format("%02d", Integer.parseInt(date[1]));
+            String day = String.format("%02d", Integer.parseInt(date[0]));
             return year + "-" + month + "-" + day;
         }
-        throw new DukeException(DukeException.Errors.INVALID_DATE.toString());
+        return null;
     }
 
 
@@ -0,0 +1,55 @@
+package duke;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Folds text into the form searches compare, so a search ignores case and accents.
+ *
+ * <p>The text is decomposed with NFKD, lower-cased and stripped of the combining marks the decomposition leaves,
+ * so "Żółw" and "zolw" fold to the same key. The Polish "ł" has no decomposition and is mapped to "l" by hand.</p>
+ */
+public class SearchKey {
+
+    /** The Polish "ł", which NFKD leaves whole */
+    private static final char L_WITH_STROKE = '\u0142';
+
+    private SearchKey() {
+    }
+
+    /**
+     * Returns the folded form of a text.
+     * @param text The text.
+     * @return The text without case or accents.
+     */
+    public static String fold(String text) {
+        assert text != null : "[duke.SearchKey.fold]: text parameter should not be null.";
+
+        if (isAscii(text)) {
+            return text.toLowerCase(Locale.ROOT);
+        }
+        // Decomposing first lower-cases the capitals some compatibility characters decompose to, like "㎒".
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFKD).toLowerCase(Locale.ROOT);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            int type = Character.getType(c);
+            if (type == Character.NON_SPACING_MARK || type == Character.ENCLOSING_MARK
+                    || type == Character.COMBINING_SPACING_MARK) {
+                continue;
+            }
+            folded.append(c == L_WITH_STROKE ? 'l' : c);
+        }
+        return folded.toString();
+    }
+
+    /** Most text is plain ASCII, which lower-casing alone folds. */
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
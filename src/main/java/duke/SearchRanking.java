@@ -0,0 +1,69 @@
+package duke;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Scores the tasks found by a keyword, so the best matches are listed first.
+ *
+ * <p>A task scores higher when its folded searchable text uses the keyword more often, when the keyword comes
+ * earlier in it, when it is undone and its date is close, and, a little, when it was added more recently.</p>
+ */
+class SearchRanking {
+
+    /** The weight of each use of the keyword in the description */
+    private static final double FREQUENCY_WEIGHT = 1.0;
+
+    /** The weight of the keyword starting the description, lower the later it comes */
+    private static final double POSITION_WEIGHT = 1.0;
+
+    /** The weight of an undone task due now, lower the further its date is */
+    private static final double URGENCY_WEIGHT = 1.0;
+
+    /** The weight of the last task added, lower the earlier a task was added */
+    private static final double RECENCY_WEIGHT = 0.25;
+
+    private final String keyword;
+    private final LocalDateTime now;
+    private final int listSize;
+
+    /**
+     * Constructor for SearchRanking.
+     * @param keyword The keyword searched, folded by SearchKey.
+     * @param now The current time.
+     * @param listSize The number of tasks in the list.
+     */
+    SearchRanking(String keyword, LocalDateTime now, int listSize) {
+        this.keyword = keyword;
+        this.now = now;
+        this.listSize = listSize;
+    }
+
+    /**
+     * Returns the score of a matching task.
+     * @param task The task.
+     * @param index The 0-based index of the task.
+     * @return The score, higher for a better match.
+     */
+    double score(Task task, int index) {
+        String text = task.getSearchKey();
+        double score = RECENCY_WEIGHT * (index + 1) / listSize;
+
+        int position = keyword.isEmpty() ? -1 : text.indexOf(keyword);
+        if (position >= 0) {
+            score += POSITION_WEIGHT / (1 + position);
+            int frequency = 0;
+            for (int from = position; from >= 0; from = text.indexOf(keyword, from + keyword.length())) {
+                frequency++;
+            }
+            score += FREQUENCY_WEIGHT * frequency;
+        }
+
+        LocalDateTime date = task.getDate();
+        if (date != null && !task.isDone()) {
+            double days = Math.abs(Duration.between(now, date).toMinutes()) / (24.0 * 60);
+            score += URGENCY_WEIGHT / (1 + days);
+        }
+        return score;
+    }
+}
@@ -0,0 +1,230 @@
+package duke;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * A binary copy of the task list, written on a clean shutdown so the next start can skip parsing the saved file.
+ *
+ * <p>The snapshot records the size, modified time and CRC32 checksum of the saved file it was taken from.
+ * It is only used while the saved file still matches all three, so editing the file by hand or a crash after
+ * a change simply falls back to parsing the text.</p>
+ */
+class Snapshot {
+
+    /** Marks the start and the end of a snapshot, "DUKE" */
+    private static final int MAGIC = 0x44554B45;
+
+    /** The snapshot format version */
+    private static final int VERSION = 2;
+
+    /** The buffer size used when reading and writing */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final byte TODO = 'T';
+    private static final byte DEADLINE = 'D';
+    private static final byte EVENT = 'E';
+
+    private Snapshot() {
+    }
+
+    /**
+     * Returns the path of the snapshot kept next to a saved file.
+     * @param text The path of the saved file.
+     * @return The path of the snapshot.
+     */
+    static Path of(Path text) {
+        return Paths.get(text.toString() + ".snap");
+    }
+
+    /**
+     * Writes a snapshot of the tasks, replacing any older snapshot.
+     * Nothing is written when a task would not save back to the same line, for example a description
+     * containing " | ", since loading the snapshot would then change the saved file.
+     * @param text The path of the saved file.
+     * @param tasks The tasks loaded from the saved file.
+     * @param lines The lines of the saved file.
+     * @return True if the snapshot was written.
+     */
+    static boolean write(Path text, List<Task> tasks, List<String> lines) {
+        assert tasks != null : "[duke.Snapshot.write]: tasks parameter should not be null.";
+        assert lines != null : "[duke.Snapshot.write]: lines parameter should not be null.";
+
+        Path snapshot = of(text);
+        Path temp = Paths.get(snapshot.toString() + ".tmp");
+        try {
+            Files.deleteIfExists(snapshot);
+            if (tasks.size() != lines.size()) {
+                return false;
+            }
+            for (int i = 0; i < tasks.size(); i++) {
+                if (!tasks.get(i).savedToString().equals(lines.get(i))) {
+                    return false;
+                }
+            }
+
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(Files.size(text));
+                out.writeLong(Files.getLastModifiedTime(text).toMillis());
+                out.writeLong(checksum(text));
+                out.writeInt(tasks.size());
+                for (Task task : tasks) {
+                    writeTask(out, task);
+                }
+                out.writeInt(MAGIC);
+            }
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // The snapshot is only a cache, a leftover temp file is overwritten next time.
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Returns the tasks in the snapshot of a saved file.
+     * @param text The path of the saved file.
+     * @param progressListener Takes the loaded fraction of the tasks, from 0 to 1.
+     * @return The tasks, or null if there is no snapshot or it does not match the saved file.
+     */
+    static ArrayList<Task> read(Path text, DoubleConsumer progressListener) {
+        Path snapshot = of(text);
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshot), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            long size = in.readLong();
+            long modified = in.readLong();
+            long checksum = in.readLong();
+            // Compare the cheap attributes before reading the whole file.
+            if (size != Files.size(text)
+                    || modified != Files.getLastModifiedTime(text).toMillis()
+                    || checksum != checksum(text)) {
+                return null;
+            }
+
+            int count = in.readInt();
+            ArrayList<Task> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Task task = readTask(in);
+                if (task == null) {
+                    return null;
+                }
+                tasks.add(task);
+                if (tasks.size() % Storage.PROGRESS_STEP == 0) {
+                    progressListener.accept((double) tasks.size() / count);
+                }
+            }
+            return in.readInt() == MAGIC ? tasks : null;
+        } catch (IOException e) {
+            // A missing, truncated or unreadable snapshot, the saved file is parsed instead.
+            return null;
+        }
+    }
+
+    private static void writeTask(DataOutputStream out, Task task) throws IOException {
+        LocalDateTime date = null;
+        String dateString = null;
+        if (task instanceof Deadline) {
+            out.writeByte(DEADLINE);
+            date = ((Deadline) task).date;
+            dateString = ((Deadline) task).dateString;
+        } else if (task instanceof Event) {
+            out.writeByte(EVENT);
+            date = ((Event) task).date;
+            dateString = ((Event) task).dateString;
+        } else {
+            out.writeByte(TODO);
+        }
+        out.writeBoolean(task.isDone);
+        out.writeUTF(task.description);
+        if (date != null) {
+            writeDate(out, date, dateString);
+        }
+        if (task instanceof Event) {
+            Event event = (Event) task;
+            out.writeBoolean(event.endDate != null);
+            if (event.endDate != null) {
+                writeDate(out, event.endDate, event.endDateString);
+            }
+        }
+    }
+
+    private static void writeDate(DataOutputStream out, LocalDateTime date, String dateString) throws IOException {
+        out.writeUTF(dateString);
+        out.writeLong(date.toLocalDate().toEpochDay());
+        out.writeLong(date.toLocalTime().toNanoOfDay());
+    }
+
+    private static Task readTask(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        boolean isDone = in.readBoolean();
+        String description = in.readUTF();
+        if (type == TODO) {
+            return withDone(new Todo(description), isDone);
+        }
+        String dateString = in.readUTF();
+        LocalDateTime date = readDate(in);
+        switch (type) {
+        case DEADLINE:
+            return withDone(new Deadline(description, date, dateString), isDone);
+        case EVENT:
+            if (!in.readBoolean()) {
+                return withDone(new Event(description, date, dateString, null, null), isDone);
+            }
+            String endDateString = in.readUTF();
+            LocalDateTime endDate = readDate(in);
+            return withDone(new Event(description, date, dateString, endDate, endDateString), isDone);
+        default:
+            return null;
+        }
+    }
+
+    private static LocalDateTime readDate(DataInputStream in) throws IOException {
+        return LocalDateTime.of(LocalDate.ofEpochDay(in.readLong()), LocalTime.ofNanoOfDay(in.readLong()));
+    }
+
+    private static Task withDone(Task task, boolean isDone) {
+        if (isDone) {
+            task.markDone();
+        }
+        return task;
+    }
+
+    private static long checksum(Path path) throws IOException {
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(path)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+        return crc.getValue();
+    }
+}
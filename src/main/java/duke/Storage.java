@@ -1,20 +1,28 @@
 package duke;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
+import java.util.function.DoubleConsumer;
+
+import duke.stats.Stats;
+import duke.stats.StorageCommitEvent;
+import duke.stats.StorageLoadEvent;
 
 /**
  * The Duke storage class.
  */
 public class Storage {
 
+    /** How many lines or tasks are loaded between two progress reports */
+    static final int PROGRESS_STEP = 10000;
+
     /** The relative path to the directory */
     private String directory;
 
@@ -24,6 +32,13 @@ public class Storage {
     /** The contents of the file as a List of Strings */
     private List<String> fileContents;
 
+    /** The file the last load took the tasks from, and the bytes it read */
+    private Path loadedPath;
+    private long loadedBytes;
+
+    /** Told the loaded fraction of the saved file, from 0 to 1 */
+    private DoubleConsumer progressListener = progress -> { };
+
     /**
      * Constructor for Storage.
      * @param directory The path to the directory.
@@ -35,12 +50,35 @@ public class Storage {
         fileContents = new ArrayList<>();
     }
 
+    /**
+     * Sets the listener told how much of the saved file has been loaded.
+     * @param progressListener Takes the loaded fraction of the saved file, from 0 to 1.
+     */
+    public void setProgressListener(DoubleConsumer progressListener) {
+        assert progressListener != null
+                : "[duke.Storage.setProgressListener]: progressListener parameter should not be null.";
+        this.progressListener = progressListener;
+    }
+
     /**
      * Returns an ArrayList of Task from the saved data.
      * @return an ArrayList of Task from the saved data.
      * @throws DukeException upon load error.
      */
     public ArrayList<Task> load() throws DukeException {
+        StorageLoadEvent event = new StorageLoadEvent();
+        event.begin();
+        ArrayList<Task> tasks = loadTasks();
+        if (event.shouldCommit()) {
+            event.setPath(loadedPath == null ? directory + "/" + file : loadedPath.toString());
+            event.setTaskCount(tasks == null ? 0 : tasks.size());
+            event.setBytes(loadedBytes);
+            event.commit();
+        }
+        return tasks;
+    }
+
+    private ArrayList<Task> loadTasks() throws DukeException {
         // Make directory and/or file if they don't exist.
         File dataDir = new File(directory);
         dataDir.mkdirs();
@@ -52,22 +90,56 @@ public class Storage {
             return null;
         }
 
+        // Use the snapshot from the last clean shutdown while it still matches the saved file.
+        ArrayList<Task> tasks = Snapshot.read(dataFile.toPath(), progressListener);
+        if (tasks != null) {
+            // Checking the snapshot against its checksum reads the whole saved file too.
+            loadedPath = Snapshot.of(dataFile.toPath());
+            loadedBytes = loadedPath.toFile().length() + dataFile.length();
+            fileContents = new ArrayList<>(tasks.size());
+            for (Task task : tasks) {
+                fileContents.add(task.savedToString());
+            }
+            return tasks;
+        }
+
         // Read each line in the saved file.
-        ArrayList<Task> tasks = new ArrayList<>();
+        loadedPath = dataFile.toPath();
+        loadedBytes = dataFile.length();
+        tasks = new ArrayList<>();
         try {
-            Scanner fileReader = new Scanner(dataFile);
+            Scanner fileReader = new Scanner(dataFile, StandardCharsets.UTF_8);
+            // Counting chars is close enough to the bytes read for a progress report.
+            double fileLength = Math.max(1, dataFile.length());
+            long charsRead = 0;
             while (fileReader.hasNextLine()) {
                 String rawData = fileReader.nextLine();
                 fileContents.add(rawData);
                 Task task = Parser.parseSavedFile(rawData);
                 tasks.add(task);
+                charsRead += rawData.length() + 1;
+                if (tasks.size() % PROGRESS_STEP == 0) {
+                    progressListener.accept(Math.min(1, charsRead / fileLength));
+                }
             }
-        } catch (FileNotFoundException e) {
-            throw new DukeException(DukeException.Errors.FILE_NOT_FOUND.toString());
+        } catch (IOException e) {
+            throw DukeException.of(DukeException.Errors.FILE_NOT_FOUND);
         }
+        progressListener.accept(1);
         return tasks;
     }
 
+    /**
+     * Writes a binary snapshot of the tasks next to the saved file, for a faster start next time.
+     * Call this on a clean shutdown, once no more changes will be saved.
+     * @param tasks The tasks, which should match the saved file.
+     * @return True if the snapshot was written.
+     */
+    public boolean saveSnapshot(List<Task> tasks) {
+        assert tasks != null : "[duke.Storage.saveSnapshot]: tasks parameter should not be null.";
+        return Snapshot.write(Paths.get(directory + "/" + file), tasks, fileContents);
+    }
+
     /**
      * Returns the String of the queried line.
      * @param id The line number.
@@ -78,7 +150,7 @@ public class Storage {
         try {
             return fileContents.get(id);
         } catch (Exception e) {
-            throw new DukeException(DukeException.Errors.TASK_NOT_FOUND.toString());
+            throw DukeException.of(DukeException.Errors.TASK_NOT_FOUND);
         }
     }
 
@@ -133,9 +205,26 @@ public class Storage {
      */
     private void commitChanges() throws DukeException {
         try {
-            Files.write(Paths.get(directory + "/" + file), fileContents, StandardCharsets.UTF_8);
+            Path path = Paths.get(directory + "/" + file);
+            StorageCommitEvent event = new StorageCommitEvent();
+            if (!Stats.isEnabled() && !event.isEnabled()) {
+                Files.write(path, fileContents, StandardCharsets.UTF_8);
+                return;
+            }
+            event.begin();
+            long start = System.nanoTime();
+            Files.write(path, fileContents, StandardCharsets.UTF_8);
+            long nanos = System.nanoTime() - start;
+            long bytes = Files.size(path);
+            Stats.recordCommit(nanos, bytes);
+            if (event.shouldCommit()) {
+                event.setPath(path.toString());
+                event.setTaskCount(fileContents.size());
+                event.setBytes(bytes);
+                event.commit();
+            }
         } catch (IOException e) {
-            throw new DukeException(DukeException.Errors.SAVE_FAIL.toString());
+            throw DukeException.of(DukeException.Errors.SAVE_FAIL);
         }
     }
 }
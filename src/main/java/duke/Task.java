@@ -1,15 +1,23 @@
 package duke;
 
+import java.time.LocalDateTime;
+
 /**
  * The Task.
  */
-public class Task {
+public class Task implements Cloneable {
     /** The task description */
     protected String description;
 
     /** The task status. True if it is done, else false */
     protected boolean isDone;
 
+    /** The order the task was added in, set by the task list and kept by the done copy */
+    protected long sequence;
+
+    /** The searchable text folded by SearchKey, computed once and kept by the done copy, or null until then */
+    protected String searchKey;
+
     /**
      * Constructor for a Task.
      * @param description The new task description.
@@ -26,6 +34,63 @@ public class Task {
         this.isDone = true;
     }
 
+    /**
+     * Returns a copy of the task marked as done, leaving this task unchanged.
+     * @return A copy of the task marked as done.
+     */
+    public Task getDoneCopy() {
+        try {
+            Task copy = (Task) super.clone();
+            copy.markDone();
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Returns the description of the task.
+     * @return The description of the task.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Returns the searchable text of the task without case or accents, folding it on the first call.
+     * @return The folded searchable text.
+     */
+    public String getSearchKey() {
+        if (searchKey == null) {
+            searchKey = SearchKey.fold(getSearchText());
+        }
+        return searchKey;
+    }
+
+    /**
+     * Returns the text a search looks in, the description and any dates as displayed, but not the status.
+     * @return The searchable text.
+     */
+    protected String getSearchText() {
+        return description;
+    }
+
+    /**
+     * Returns true if the task is done.
+     * @return True if the task is done.
+     */
+    public boolean isDone() {
+        return isDone;
+    }
+
+    /**
+     * Returns the date of the task.
+     * @return The date of the task, or null if the task has no date.
+     */
+    public LocalDateTime getDate() {
+        return null;
+    }
+
     /**
      * Returns a string for the task status icon.
      * @return "X" if the test is done, else " ".
@@ -0,0 +1,102 @@
+package duke;
+
+import java.util.List;
+
+/**
+ * A change to the task list, sent to the listeners of a TaskList.
+ * Applying the changes in order to the tasks of the first, LOADED change keeps a copy of the list up to date.
+ */
+public class TaskChange {
+
+    /**
+     * The kinds of changes.
+     */
+    public enum Type {
+        LOADED,
+        ADDED,
+        DONE,
+        REMOVED
+    }
+
+    private final Type type;
+
+    /** The 0-based index of the changed task, or -1 for the whole list */
+    private final int index;
+
+    /** The added, done or removed task, or null for the whole list */
+    private final Task task;
+
+    /** The task replaced by a task marked as done, or null for other changes */
+    private final Task previousTask;
+
+    /** The whole list, or null for a change to one task */
+    private final List<Task> tasks;
+
+    private TaskChange(Type type, int index, Task task, Task previousTask, List<Task> tasks) {
+        this.type = type;
+        this.index = index;
+        this.task = task;
+        this.previousTask = previousTask;
+        this.tasks = tasks;
+    }
+
+    /**
+     * Returns the change giving a new listener the whole list.
+     * @param tasks The immutable tasks in the list.
+     * @return The change giving the whole list.
+     */
+    public static TaskChange loaded(List<Task> tasks) {
+        return new TaskChange(Type.LOADED, -1, null, null, tasks);
+    }
+
+    /**
+     * Returns the change of adding a task.
+     * @param index The 0-based index of the added task.
+     * @param task The added task.
+     * @return The change of adding the task.
+     */
+    public static TaskChange added(int index, Task task) {
+        return new TaskChange(Type.ADDED, index, task, null, null);
+    }
+
+    /**
+     * Returns the change of marking a task as done.
+     * @param index The 0-based index of the task.
+     * @param task The task marked as done, which replaces the one at the index.
+     * @param previousTask The replaced task.
+     * @return The change of marking the task as done.
+     */
+    public static TaskChange done(int index, Task task, Task previousTask) {
+        return new TaskChange(Type.DONE, index, task, previousTask, null);
+    }
+
+    /**
+     * Returns the change of removing a task.
+     * @param index The 0-based index the task had.
+     * @param task The removed task.
+     * @return The change of removing the task.
+     */
+    public static TaskChange removed(int index, Task task) {
+        return new TaskChange(Type.REMOVED, index, task, null, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    public Task getPreviousTask() {
+        return previousTask;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+}
@@ -0,0 +1,140 @@
+package duke;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import duke.query.Condition;
+
+/**
+ * Counts the tasks of each kind, the done ones and the overdue deadlines, following the changes of the task list.
+ *
+ * <p>Every change updates the counts in O(1). Undone deadlines also wait in a map sorted by date, in O(log n),
+ * until they are past. As time only moves forward, a summary moves the deadlines now past from the map
+ * into the overdue count, so each deadline is moved at most once and a summary costs O(1) amortized.</p>
+ */
+public class TaskCounter implements Consumer<TaskChange> {
+
+    /** The number of tasks of each kind, by Condition.Type ordinal */
+    private final int[] counts = new int[Condition.Type.values().length];
+
+    /** The number of done tasks of each kind, by Condition.Type ordinal */
+    private final int[] doneCounts = new int[Condition.Type.values().length];
+
+    /** The number of undone deadlines at each second not past yet, all the counts guarded by this */
+    private final TreeMap<Long, Integer> upcoming = new TreeMap<>();
+
+    /** The number of undone deadlines before pastSecond */
+    private int overdue;
+
+    /** The deadlines before this second are counted as overdue */
+    private long pastSecond = Long.MIN_VALUE;
+
+    /** The source of the current time */
+    private final Clock clock;
+
+    /**
+     * Constructor for TaskCounter.
+     * @param clock The source of the current time.
+     */
+    public TaskCounter(Clock clock) {
+        assert clock != null : "[duke.TaskCounter.TaskCounter]: clock parameter should not be null.";
+        this.clock = clock;
+    }
+
+    /**
+     * Applies a change of the task list to the counts.
+     * @param change The change to the task list.
+     */
+    @Override
+    public synchronized void accept(TaskChange change) {
+        switch (change.getType()) {
+        case LOADED:
+            Arrays.fill(counts, 0);
+            Arrays.fill(doneCounts, 0);
+            upcoming.clear();
+            overdue = 0;
+            for (Task task : change.getTasks()) {
+                add(task);
+            }
+            break;
+        case ADDED:
+            add(change.getTask());
+            break;
+        case DONE:
+            if (!change.getPreviousTask().isDone()) {
+                doneCounts[Condition.typeOf(change.getTask()).ordinal()]++;
+                untrack(change.getPreviousTask());
+            }
+            break;
+        case REMOVED:
+            Task task = change.getTask();
+            counts[Condition.typeOf(task).ordinal()]--;
+            if (task.isDone()) {
+                doneCounts[Condition.typeOf(task).ordinal()]--;
+            } else {
+                untrack(task);
+            }
+            break;
+        default:
+            assert false : "[duke.TaskCounter.accept]: unknown change type.";
+        }
+    }
+
+    /**
+     * Returns the counts as of now.
+     * @return The counts as of now.
+     */
+    public synchronized TaskSummary summarize() {
+        long now = toSeconds(LocalDateTime.now(clock));
+        if (now > pastSecond) {
+            pastSecond = now;
+            while (!upcoming.isEmpty() && upcoming.firstKey() < now) {
+                overdue += upcoming.pollFirstEntry().getValue();
+            }
+        }
+        return new TaskSummary(counts, doneCounts, overdue);
+    }
+
+    private void add(Task task) {
+        counts[Condition.typeOf(task).ordinal()]++;
+        if (task.isDone()) {
+            doneCounts[Condition.typeOf(task).ordinal()]++;
+        } else {
+            track(task);
+        }
+    }
+
+    /** Counts an undone deadline as overdue or upcoming. */
+    private void track(Task task) {
+        if (!(task instanceof Deadline)) {
+            return;
+        }
+        long second = toSeconds(task.getDate());
+        if (second < pastSecond) {
+            overdue++;
+        } else {
+            upcoming.merge(second, 1, Integer::sum);
+        }
+    }
+
+    /** Stops counting a deadline done or removed. */
+    private void untrack(Task task) {
+        if (!(task instanceof Deadline)) {
+            return;
+        }
+        long second = toSeconds(task.getDate());
+        if (second < pastSecond) {
+            overdue--;
+        } else {
+            upcoming.computeIfPresent(second, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private static long toSeconds(LocalDateTime date) {
+        return date.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,640 @@
+package duke;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import duke.query.Condition;
+
+/**
+ * The secondary indices over the tasks, giving the tasks meeting a query condition without a full scan.
+ *
+ * <p>Tasks are known by their sequence, the order they were added in, which never changes and sorts them in the
+ * order of the list. There is an index on the kind of task, on the done status, on the date, and from each word
+ * of the search keys, the folded descriptions and dates, to the tasks using it. Each index holds sorted sequences, so a condition can tell how many
+ * tasks it would examine before any of them is read.</p>
+ *
+ * <p>An index is never changed once built: a change of the tasks gives a new index, which copies only the chunk
+ * of each sorted array the task falls in and shares the rest. The task list publishes a new index with each new
+ * version of the tasks, and readers never take a lock. Changes are made to the latest index only.</p>
+ */
+class TaskIndex {
+
+    private final Map<Condition.Type, Entries> types;
+    private final Entries done;
+    private final Entries undone;
+
+    /** The dated tasks, as entries of the date in seconds and the sequence */
+    private final Entries dates;
+
+    /** The words of the search keys, as entries of the word id and the sequence */
+    private final Entries postings;
+    private final Vocabulary vocabulary;
+
+    /**
+     * Constructor for TaskIndex.
+     * @param tasks The tasks, in the order of their sequences.
+     */
+    TaskIndex(List<Task> tasks) {
+        int[] typeCounts = new int[Condition.Type.values().length];
+        int doneCount = 0;
+        List<Task> dated = new ArrayList<>();
+        for (Task task : tasks) {
+            typeCounts[Condition.typeOf(task).ordinal()]++;
+            doneCount += task.isDone() ? 1 : 0;
+            if (task.getDate() != null) {
+                dated.add(task);
+            }
+        }
+
+        long[][] typeSequences = new long[typeCounts.length][];
+        for (int i = 0; i < typeCounts.length; i++) {
+            typeSequences[i] = new long[typeCounts[i]];
+            typeCounts[i] = 0;
+        }
+        long[] doneSequences = new long[doneCount];
+        long[] undoneSequences = new long[tasks.size() - doneCount];
+        doneCount = 0;
+        int undoneCount = 0;
+        Vocabulary words = new Vocabulary();
+        long[] wordPairs = new long[2 * tasks.size()];
+        int pairCount = 0;
+        for (Task task : tasks) {
+            int type = Condition.typeOf(task).ordinal();
+            typeSequences[type][typeCounts[type]++] = task.sequence;
+            if (task.isDone()) {
+                doneSequences[doneCount++] = task.sequence;
+            } else {
+                undoneSequences[undoneCount++] = task.sequence;
+            }
+            for (String word : wordsOf(task.getSearchKey())) {
+                words = words.with(word);
+                if (2 * pairCount == wordPairs.length) {
+                    wordPairs = Arrays.copyOf(wordPairs, 2 * wordPairs.length + 2);
+                }
+                wordPairs[2 * pairCount] = words.idOf(word);
+                wordPairs[2 * pairCount + 1] = task.sequence;
+                pairCount++;
+            }
+        }
+        types = new EnumMap<>(Condition.Type.class);
+        for (Condition.Type type : Condition.Type.values()) {
+            long[] sequences = typeSequences[type.ordinal()];
+            types.put(type, Entries.of(1, sequences, sequences.length));
+        }
+        done = Entries.of(1, doneSequences, doneSequences.length);
+        undone = Entries.of(1, undoneSequences, undoneSequences.length);
+
+        // Sorting once is faster than inserting the dates one by one.
+        dated.sort(Comparator.comparingLong((Task task) -> toSeconds(task.getDate()))
+                .thenComparingLong(task -> task.sequence));
+        long[] dateEntries = new long[2 * dated.size()];
+        for (int i = 0; i < dated.size(); i++) {
+            dateEntries[2 * i] = toSeconds(dated.get(i).getDate());
+            dateEntries[2 * i + 1] = dated.get(i).sequence;
+        }
+        dates = Entries.of(2, dateEntries, dated.size());
+
+        // The pairs come in the order of the sequences, so counting them by word sorts them by word, then sequence.
+        int[] wordStarts = new int[words.size() + 1];
+        for (int i = 0; i < pairCount; i++) {
+            wordStarts[(int) wordPairs[2 * i] + 1]++;
+        }
+        for (int id = 0; id < words.size(); id++) {
+            wordStarts[id + 1] += wordStarts[id];
+        }
+        long[] sortedPairs = new long[2 * pairCount];
+        for (int i = 0; i < pairCount; i++) {
+            int position = wordStarts[(int) wordPairs[2 * i]]++;
+            sortedPairs[2 * position] = wordPairs[2 * i];
+            sortedPairs[2 * position + 1] = wordPairs[2 * i + 1];
+        }
+        postings = Entries.of(2, sortedPairs, pairCount);
+        vocabulary = words;
+    }
+
+    private TaskIndex(Map<Condition.Type, Entries> types, Entries done, Entries undone, Entries dates,
+            Entries postings, Vocabulary vocabulary) {
+        this.types = types;
+        this.done = done;
+        this.undone = undone;
+        this.dates = dates;
+        this.postings = postings;
+        this.vocabulary = vocabulary;
+    }
+
+    /**
+     * Returns a new index with a task added, whose sequence is the highest so far.
+     * @param task The task.
+     * @return The new index.
+     */
+    TaskIndex with(Task task) {
+        Map<Condition.Type, Entries> newTypes = new EnumMap<>(types);
+        Condition.Type type = Condition.typeOf(task);
+        newTypes.put(type, types.get(type).with(task.sequence));
+        Entries newDone = task.isDone() ? done.with(task.sequence) : done;
+        Entries newUndone = task.isDone() ? undone : undone.with(task.sequence);
+        Entries newDates = task.getDate() == null ? dates : dates.with(toSeconds(task.getDate()), task.sequence);
+        Vocabulary newVocabulary = vocabulary;
+        Entries newPostings = postings;
+        for (String word : wordsOf(task.getSearchKey())) {
+            newVocabulary = newVocabulary.with(word);
+            int id = newVocabulary.idOf(word);
+            if (!isUsed(newPostings, id) && id < vocabulary.size()) {
+                // A word no task used any more is used again.
+                newVocabulary = newVocabulary.withUnused(newVocabulary.unused() - 1);
+            }
+            newPostings = newPostings.with(id, task.sequence);
+        }
+        return new TaskIndex(newTypes, newDone, newUndone, newDates, newPostings, newVocabulary);
+    }
+
+    /**
+     * Returns a new index without a task. Its words no other task uses stay in the vocabulary until they are
+     * more than half of it, when the vocabulary is rebuilt with only the words in use.
+     * @param task The task.
+     * @return The new index.
+     */
+    TaskIndex without(Task task) {
+        Map<Condition.Type, Entries> newTypes = new EnumMap<>(types);
+        Condition.Type type = Condition.typeOf(task);
+        newTypes.put(type, types.get(type).without(task.sequence));
+        Entries newDone = task.isDone() ? done.without(task.sequence) : done;
+        Entries newUndone = task.isDone() ? undone : undone.without(task.sequence);
+        Entries newDates = task.getDate() == null ? dates : dates.without(toSeconds(task.getDate()), task.sequence);
+        Entries newPostings = postings;
+        int unused = vocabulary.unused();
+        for (String word : wordsOf(task.getSearchKey())) {
+            int id = vocabulary.idOf(word);
+            newPostings = newPostings.without(id, task.sequence);
+            unused += isUsed(newPostings, id) ? 0 : 1;
+        }
+        if (2 * unused > vocabulary.size()) {
+            return compacted(newTypes, newDone, newUndone, newDates, newPostings, vocabulary);
+        }
+        return new TaskIndex(newTypes, newDone, newUndone, newDates, newPostings, vocabulary.withUnused(unused));
+    }
+
+    /**
+     * Returns a new index with a task replaced by its done copy.
+     * @param previousTask The task.
+     * @param task The done copy, with the same sequence.
+     * @return The new index.
+     */
+    TaskIndex withDone(Task previousTask, Task task) {
+        if (previousTask.isDone()) {
+            return this;
+        }
+        return new TaskIndex(types, done.with(task.sequence), undone.without(task.sequence), dates, postings,
+                vocabulary);
+    }
+
+    /**
+     * Returns the access to the tasks meeting a condition through its index.
+     * For a text condition the words containing the keyword are looked up once here, for both the estimate and
+     * the candidates.
+     * @param condition The condition.
+     * @return The access through the index, or null if no index serves the condition.
+     */
+    Access access(Condition condition) {
+        if (condition.getField() != Condition.Field.TEXT) {
+            return new Access(condition, null);
+        }
+        String word = longestWord(condition.getKeyword());
+        if (word == null) {
+            return null;
+        }
+        // A search key contains the folded keyword only if one of its words contains the longest word of it.
+        int[] wordIds = new int[0];
+        int count = 0;
+        for (int id = 0; id < vocabulary.size(); id++) {
+            if (vocabulary.wordOf(id).contains(word) && isUsed(postings, id)) {
+                if (count == wordIds.length) {
+                    wordIds = Arrays.copyOf(wordIds, 2 * count + 1);
+                }
+                wordIds[count++] = id;
+            }
+        }
+        return new Access(condition, Arrays.copyOf(wordIds, count));
+    }
+
+    /**
+     * The access to the tasks meeting a condition through its index, for one query.
+     */
+    class Access {
+        private final Condition condition;
+
+        /** The ids of the words containing the keyword of a text condition, or null for other conditions */
+        private final int[] wordIds;
+
+        private Access(Condition condition, int[] wordIds) {
+            this.condition = condition;
+            this.wordIds = wordIds;
+        }
+
+        /**
+         * Returns the condition served.
+         * @return The condition.
+         */
+        Condition getCondition() {
+            return condition;
+        }
+
+        /**
+         * Returns the number of tasks the index would examine.
+         * @return The number of tasks examined.
+         */
+        int estimate() {
+            switch (condition.getField()) {
+            case TYPE:
+                return types.get(condition.getType()).size();
+            case DONE:
+                return (condition.isDone() ? done : undone).size();
+            case DATE:
+            case BY:
+            case AT:
+                return Math.max(0, dates.rank(toSeconds(condition)) - dates.rank(fromSeconds(condition)));
+            default:
+                int count = 0;
+                for (int id : wordIds) {
+                    count += postings.rank(id + 1) - postings.rank(id);
+                }
+                return count;
+            }
+        }
+
+        /**
+         * Returns the sequences of the tasks the index examines.
+         * @return The sequences, in date order for date conditions, else in the order of the list.
+         */
+        long[] candidates() {
+            switch (condition.getField()) {
+            case TYPE:
+                Entries sequences = types.get(condition.getType());
+                return sequences.column(0, 0, sequences.size());
+            case DONE:
+                Entries status = condition.isDone() ? done : undone;
+                return status.column(0, 0, status.size());
+            case DATE:
+            case BY:
+            case AT:
+                int from = dates.rank(fromSeconds(condition));
+                return dates.column(1, from, Math.max(from, dates.rank(toSeconds(condition))));
+            default:
+                long[] candidates = new long[0];
+                int count = 0;
+                for (int id : wordIds) {
+                    long[] users = postings.column(1, postings.rank(id), postings.rank(id + 1));
+                    if (count + users.length > candidates.length) {
+                        candidates = Arrays.copyOf(candidates, Math.max(2 * candidates.length, count + users.length));
+                    }
+                    System.arraycopy(users, 0, candidates, count, users.length);
+                    count += users.length;
+                }
+                return toSortedDistinct(candidates, count);
+            }
+        }
+    }
+
+    /**
+     * Returns the name of the index serving a condition.
+     * @param condition The condition.
+     * @return The name of the index.
+     */
+    static String nameOf(Condition condition) {
+        switch (condition.getField()) {
+        case TYPE:
+            return "type index";
+        case DONE:
+            return "status index";
+        case TEXT:
+            return "text index";
+        default:
+            return "date index";
+        }
+    }
+
+    /**
+     * Returns true if the index of a condition gives the tasks in date order rather than in the order of the list.
+     * @param condition The condition.
+     * @return True if the tasks come in date order.
+     */
+    static boolean isDateOrdered(Condition condition) {
+        Condition.Field field = condition.getField();
+        return field == Condition.Field.DATE || field == Condition.Field.BY || field == Condition.Field.AT;
+    }
+
+    /**
+     * Returns an index with only the words in use in its vocabulary, renumbered in the same order, so the
+     * postings stay sorted. This costs O(words + postings), which the removals emptying half of the vocabulary
+     * since the last time pay for.
+     */
+    private static TaskIndex compacted(Map<Condition.Type, Entries> types, Entries done, Entries undone,
+            Entries dates, Entries postings, Vocabulary vocabulary) {
+        Vocabulary words = new Vocabulary();
+        int[] newIds = new int[vocabulary.size()];
+        for (int id = 0; id < vocabulary.size(); id++) {
+            if (isUsed(postings, id)) {
+                words = words.with(vocabulary.wordOf(id));
+                newIds[id] = words.idOf(vocabulary.wordOf(id));
+            }
+        }
+        int count = postings.size();
+        long[] ids = postings.column(0, 0, count);
+        long[] sequences = postings.column(1, 0, count);
+        long[] pairs = new long[2 * count];
+        for (int i = 0; i < count; i++) {
+            pairs[2 * i] = newIds[(int) ids[i]];
+            pairs[2 * i + 1] = sequences[i];
+        }
+        return new TaskIndex(types, done, undone, dates, Entries.of(2, pairs, count), words);
+    }
+
+    private static boolean isUsed(Entries postings, int id) {
+        return postings.rank(id + 1) > postings.rank(id);
+    }
+
+    private static Set<String> wordsOf(String text) {
+        Set<String> words = new HashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                words.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    private static String longestWord(String text) {
+        String longest = null;
+        for (String word : wordsOf(text)) {
+            if (longest == null || word.length() > longest.length()) {
+                longest = word;
+            }
+        }
+        return longest;
+    }
+
+    private static long[] toSortedDistinct(long[] values, int count) {
+        long[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, distinct);
+    }
+
+    private static long fromSeconds(Condition condition) {
+        return condition.getFrom() == null ? Long.MIN_VALUE : toSeconds(condition.getFrom());
+    }
+
+    private static long toSeconds(Condition condition) {
+        return condition.getTo() == null ? Long.MAX_VALUE : toSeconds(condition.getTo());
+    }
+
+    private static long toSeconds(LocalDateTime date) {
+        return date.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * A sorted set of entries of one or more longs, compared column by column, kept in chunks.
+     * A change copies the chunk it falls in and the small arrays over the chunks, and shares every other chunk
+     * with the set it was made from, so it costs O(n / CHUNK_SIZE + CHUNK_SIZE) and never changes that set.
+     */
+    private static class Entries {
+        /** The entries a chunk is built with; a chunk growing to twice as many is split in two */
+        private static final int CHUNK_SIZE = 512;
+
+        /** The number of longs in an entry */
+        private final int width;
+
+        /** The chunks, each a non-empty run of sorted entries laid out one after the other */
+        private final long[][] chunks;
+
+        /** The number of entries in the chunks up to and including each one */
+        private final int[] ends;
+
+        private Entries(int width, long[][] chunks, int[] ends) {
+            this.width = width;
+            this.chunks = chunks;
+            this.ends = ends;
+        }
+
+        /** Returns the set of the first count entries of values, which are sorted. */
+        private static Entries of(int width, long[] values, int count) {
+            int chunkCount = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            long[][] chunks = new long[chunkCount][];
+            int[] ends = new int[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                int from = i * CHUNK_SIZE;
+                int to = Math.min(count, from + CHUNK_SIZE);
+                chunks[i] = Arrays.copyOfRange(values, from * width, to * width);
+                ends[i] = to;
+            }
+            return new Entries(width, chunks, ends);
+        }
+
+        private int size() {
+            return ends.length == 0 ? 0 : ends[ends.length - 1];
+        }
+
+        /** Returns the number of entries before a key, which may give only the first columns. */
+        private int rank(long... key) {
+            int chunk = chunkOf(key);
+            return chunk == chunks.length ? size() : startOf(chunk) + lowerBound(chunks[chunk], key);
+        }
+
+        /** Returns one column of the entries from one rank to another. */
+        private long[] column(int column, int from, int to) {
+            long[] values = new long[to - from];
+            int chunk = 0;
+            while (chunk < ends.length && ends[chunk] <= from) {
+                chunk++;
+            }
+            int entry = from - startOf(chunk);
+            for (int i = 0; i < values.length; i++, entry++) {
+                if (entry * width == chunks[chunk].length) {
+                    chunk++;
+                    entry = 0;
+                }
+                values[i] = chunks[chunk][entry * width + column];
+            }
+            return values;
+        }
+
+        private Entries with(long... entry) {
+            if (chunks.length == 0) {
+                return new Entries(width, new long[][] {entry.clone()}, new int[] {1});
+            }
+            // An entry after every other one goes to the end of the last chunk.
+            int chunk = Math.min(chunkOf(entry), chunks.length - 1);
+            long[] old = chunks[chunk];
+            int position = lowerBound(old, entry);
+            if (position * width < old.length && compare(old, position, entry) == 0) {
+                return this;
+            }
+            long[] grown = new long[old.length + width];
+            System.arraycopy(old, 0, grown, 0, position * width);
+            System.arraycopy(entry, 0, grown, position * width, width);
+            System.arraycopy(old, position * width, grown, (position + 1) * width, old.length - position * width);
+            if (grown.length < 2 * CHUNK_SIZE * width) {
+                return replace(chunk, grown);
+            }
+            int half = CHUNK_SIZE * width;
+            return replace(chunk, Arrays.copyOfRange(grown, 0, half), Arrays.copyOfRange(grown, half, grown.length));
+        }
+
+        private Entries without(long... entry) {
+            int chunk = chunkOf(entry);
+            if (chunk == chunks.length) {
+                return this;
+            }
+            long[] old = chunks[chunk];
+            int position = lowerBound(old, entry);
+            if (position * width == old.length || compare(old, position, entry) != 0) {
+                return this;
+            }
+            if (old.length == width) {
+                return replace(chunk);
+            }
+            long[] shrunk = new long[old.length - width];
+            System.arraycopy(old, 0, shrunk, 0, position * width);
+            System.arraycopy(old, (position + 1) * width, shrunk, position * width, shrunk.length - position * width);
+            return replace(chunk, shrunk);
+        }
+
+        /** Returns a set with a chunk replaced by none, one or two chunks. */
+        private Entries replace(int chunk, long[]... replacements) {
+            long[][] newChunks = new long[chunks.length - 1 + replacements.length][];
+            System.arraycopy(chunks, 0, newChunks, 0, chunk);
+            System.arraycopy(replacements, 0, newChunks, chunk, replacements.length);
+            System.arraycopy(chunks, chunk + 1, newChunks, chunk + replacements.length, chunks.length - chunk - 1);
+            int[] newEnds = Arrays.copyOf(ends, newChunks.length);
+            int end = startOf(chunk);
+            for (int i = chunk; i < newChunks.length; i++) {
+                end += newChunks[i].length / width;
+                newEnds[i] = end;
+            }
+            return new Entries(width, newChunks, newEnds);
+        }
+
+        /** Returns the first chunk whose last entry is not before a key, or the number of chunks if none is. */
+        private int chunkOf(long[] key) {
+            int low = 0;
+            int high = chunks.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                long[] chunk = chunks[middle];
+                if (compare(chunk, chunk.length / width - 1, key) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /** Returns the position of the first entry of a chunk not before a key. */
+        private int lowerBound(long[] chunk, long[] key) {
+            int low = 0;
+            int high = chunk.length / width;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (compare(chunk, middle, key) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /** Compares an entry of a chunk with a key, on the columns the key gives. */
+        private int compare(long[] chunk, int entry, long[] key) {
+            for (int column = 0; column < key.length; column++) {
+                int comparison = Long.compare(chunk[entry * width + column], key[column]);
+                if (comparison != 0) {
+                    return comparison;
+                }
+            }
+            return 0;
+        }
+
+        private int startOf(int chunk) {
+            return chunk == 0 ? 0 : ends[chunk - 1];
+        }
+    }
+
+    /**
+     * The words of the search keys, each known by the id it was first seen with.
+     * Words are only ever appended: a new word goes in the slot after the last word of this vocabulary, which
+     * the older vocabularies sharing the array never read, so every version stays unchanged. Words no task uses
+     * any more are dropped by rebuilding the vocabulary.
+     */
+    private static class Vocabulary {
+        private final String[] words;
+        private final int size;
+
+        /** The id of each word, shared by the versions and only read by the latest one */
+        private final Map<String, Integer> ids;
+
+        /** The number of words no task uses */
+        private final int unused;
+
+        private Vocabulary() {
+            this(new String[16], 0, new HashMap<>(), 0);
+        }
+
+        private Vocabulary(String[] words, int size, Map<String, Integer> ids, int unused) {
+            this.words = words;
+            this.size = size;
+            this.ids = ids;
+            this.unused = unused;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private int unused() {
+            return unused;
+        }
+
+        private Vocabulary withUnused(int newUnused) {
+            return newUnused == unused ? this : new Vocabulary(words, size, ids, newUnused);
+        }
+
+        private String wordOf(int id) {
+            return words[id];
+        }
+
+        private int idOf(String word) {
+            return ids.get(word);
+        }
+
+        private Vocabulary with(String word) {
+            if (ids.containsKey(word)) {
+                return this;
+            }
+            String[] newWords = size < words.length ? words : Arrays.copyOf(words, 2 * size);
+            newWords[size] = word;
+            ids.put(word, size);
+            return new Vocabulary(newWords, size + 1, ids, unused);
+        }
+    }
+}
@@ -1,23 +1,50 @@
 package duke;
 
+import java.time.Clock;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import duke.query.Condition;
+import duke.query.Query;
+import duke.query.QueryPlan;
 
 /**
  * The tasks in the Duke app.
+ * Every change publishes a new immutable version of the list together with its indices, so reads never take a
+ * lock. Changes are serialized with each other. The versions are kept in chunks which share all but the changed
+ * chunk, so a change copies one chunk and the table of chunks rather than the whole list.
  */
 public class TaskList {
 
-    /** The tasks are stored in a list */
-    private ArrayList<Task> tasks;
+    /** The latest published version of the tasks and their indices, never modified once published */
+    private volatile Version version;
+
+    /** The sequence of the next task added */
+    private long nextSequence;
 
     /** The data storage */
     private Storage storage;
 
+    /** Told about every change, in the order of the changes */
+    private final List<Consumer<TaskChange>> listeners = new CopyOnWriteArrayList<>();
+
+    /** The counts of the tasks, kept up to date as a listener once first asked for, or null until then */
+    private volatile TaskCounter counter;
+
     /**
      * Constructor for TaskList.
      */
     public TaskList() {
-        this.tasks = new ArrayList<>();
+        this.version = new Version(ChunkedTasks.empty(), null, null);
         this.storage = new Storage("./data", "duke.txt");
     }
 
@@ -28,7 +55,7 @@ public class TaskList {
     public TaskList(Storage storage) {
         assert storage != null : "[duke.TaskList.TaskList]: storage parameter should not be null.";
 
-        this.tasks = new ArrayList<>();
+        this.version = new Version(ChunkedTasks.empty(), null, null);
         this.storage = storage;
     }
 
@@ -41,88 +68,227 @@ public class TaskList {
         assert tasks != null : "[duke.TaskList.TaskList]: tasks parameter should not be null.";
         assert storage != null : "[duke.TaskList.TaskList]: storage parameter should not be null.";
 
-        this.tasks = tasks;
+        this.version = new Version(ChunkedTasks.of(tasks), null, null);
         this.storage = storage;
+        for (Task task : tasks) {
+            task.sequence = nextSequence++;
+            task.getSearchKey();
+        }
     }
 
     /**
-     * Adds an item to the list and return a status message.
+     * Adds an item to the list and returns the result.
      * @param task A Task to be added to the list.
-     * @return A status message to be displayed.
+     * @return The result of adding the task.
      */
-    public String addItem(Task task) throws DukeException {
-        assert tasks != null : "[duke.TaskList.addItem]: tasks parameter should not be null.";
+    public synchronized CommandResult addItem(Task task) throws DukeException {
+        assert task != null : "[duke.TaskList.addItem]: task parameter should not be null.";
 
-        tasks.add(task);
-        String res = "Got it. I've added this task: \n"
-                + "  " + task.toString() + "\n"
-                + "Now you have " + tasks.size() + " tasks in the list";
+        Version current = version;
+        ChunkedTasks newTasks = current.tasks.with(task);
+        task.sequence = nextSequence++;
+        task.getSearchKey();
+        List<Task> overlaps = Collections.emptyList();
+        if (task instanceof Event) {
+            if (current.events == null) {
+                // The first event added builds the tree once, in O(n log n), for this and every later add.
+                current = new Version(current.tasks, EventIndex.of(current.tasks), current.taskIndex);
+                version = current;
+            }
+            overlaps = current.events.overlapping((Event) task);
+        }
+        publish(newTasks, TaskChange.added(newTasks.size() - 1, task));
 
         storage.addToFile(task.savedToString());
-        return res;
+        return CommandResult.added(task, newTasks.size(), overlaps);
     }
 
     /**
-     * Marks the task at the given index as done and returns a status message.
+     * Marks the task at the given index as done and returns the result.
      * @param index The index to be marked as done
-     * @return  A status message to be displayed
+     * @return The result of marking the task as done
      * @throws DukeException when a task is not found
      */
-    public String markDone(int index) throws DukeException {
-        Task task = getTask(index);
-        task.markDone();
+    public synchronized CommandResult markDone(int index) throws DukeException {
+        ChunkedTasks current = version.tasks;
+        Task previousTask = getTask(current, index);
+        Task task = previousTask.getDoneCopy();
+        ChunkedTasks newTasks = current.withSet(index, task);
+        publish(newTasks, TaskChange.done(index, task, previousTask));
 
         storage.markLineDone(index);
-        return "Great success! Task Complete: \n" + "  " + task.toString();
+        return CommandResult.done(task, index, newTasks.size());
     }
 
     /**
-     * Removes a task in the list and returns a status message.
+     * Removes a task in the list and returns the result.
      * @param index The index of the task to be removed.
-     * @return A status message to be displayed.
+     * @return The result of removing the task.
      * @throws DukeException when a task is not found.
      */
-    public String removeItem(int index) throws DukeException {
-        Task task = getTask(index);
-        tasks.remove(index);
-        String res = "Got it. I've removed this task: \n"
-                + "  " + task.toString() + "\n"
-                + "Now you have " + tasks.size() + " tasks in the list";
+    public synchronized CommandResult removeItem(int index) throws DukeException {
+        ChunkedTasks current = version.tasks;
+        Task task = getTask(current, index);
+        ChunkedTasks newTasks = current.without(index);
+        publish(newTasks, TaskChange.removed(index, task));
 
         storage.removeFromFile(index);
-        return res;
+        return CommandResult.removed(task, index, newTasks.size());
     }
 
     /**
-     * Returns all the task (represented by a string) that contains the given keyword.
+     * Returns all the tasks whose description or dates contain the given keyword, ignoring case and accents,
+     * best matches first.
      * @param keyword The keyword to search the task.
-     * @return all the tasks (string) that contains the given keyword.
+     * @return The matching tasks with their indices.
      */
-    public String find(String keyword) {
+    public CommandResult find(String keyword) {
+        return find(keyword, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the best matching tasks whose description or dates contain the given keyword, ignoring case and
+     * accents. Each task folds its searchable text once when added or loaded, so only the keyword is folded here.
+     * The matches go through a heap holding the best limit so far, so finding the top few of many matches
+     * costs O(n log limit) and keeps only limit matches in memory.
+     * @param keyword The keyword to search the task.
+     * @param limit The most tasks returned.
+     * @return The best matching tasks, best first, with their indices.
+     */
+    public CommandResult find(String keyword, int limit) {
         assert keyword != null : "[duke.TaskList.find]: keyword parameter should not be null.";
+        assert limit > 0 : "[duke.TaskList.find]: limit parameter should be positive.";
 
-        StringBuilder str = new StringBuilder();
-        str.append("Here are the matching tasks in your list:\n");
-        int id = 1;
-        for (Task task : tasks) {
-            if (task.toString().contains(keyword)) {
-                str.append(id++).append(". ").append(task.toString()).append("\n");
+        String key = SearchKey.fold(keyword);
+        List<Task> snapshot = version.tasks;
+        int size = snapshot.size();
+        SearchRanking ranking = new SearchRanking(key, LocalDateTime.now(), size);
+        PriorityQueue<RankedTask> best = new PriorityQueue<>(Math.min(limit, 16), RankedTask.WORST_FIRST);
+        // Walking the chunks in order is cheaper than finding the chunk of each index.
+        int position = -1;
+        for (Task task : snapshot) {
+            ++position;
+            if (!task.getSearchKey().contains(key)) {
+                continue;
+            }
+            double score = ranking.score(task, position);
+            if (best.size() < limit) {
+                best.add(new RankedTask(task, position, score));
+            } else if (score > best.peek().score) {
+                // Ties keep the earlier task, which is already in the heap.
+                best.poll();
+                best.add(new RankedTask(task, position, score));
             }
         }
-        return str.toString();
+
+        int count = best.size();
+        Task[] matches = new Task[count];
+        int[] ids = new int[count];
+        for (int i = count - 1; i >= 0; --i) {
+            RankedTask ranked = best.poll();
+            matches[i] = ranked.task;
+            ids[i] = ranked.index + 1;
+        }
+        return CommandResult.found(Arrays.asList(matches), ids, size);
     }
 
     /**
-     * Returns all the tasks as a string in the Task List
-     * @return All the tasks as a string in the Task List
+     * Returns the tasks meeting a query, in the order and up to the limit it asks for.
+     *
+     * <p>The planner picks the access path examining the fewest tasks: the index of one of the conditions, or a
+     * full scan when no index examines less than half of the list, since each task found through an index also
+     * costs a lookup. The tasks it gives are then checked against every condition. The indices are published
+     * with the version of the tasks they index, so a query reads both without a lock.</p>
+     *
+     * @param query The query.
+     * @return The matching tasks with their indices, and the plan of the query.
      */
-    public String getAllTask() {
-        StringBuilder str = new StringBuilder("This your task in list:\n");
-        int size = tasks.size();
-        for (int i = 0; i < size; ++i) {
-            str.append(" ").append(i + 1).append(". ").append(tasks.get(i).toString()).append("\n");
+    public CommandResult query(Query query) {
+        assert query != null : "[duke.TaskList.query]: query parameter should not be null.";
+
+        Version current = getTaskIndexedVersion();
+        List<Task> snapshot = current.tasks;
+        TaskIndex.Access best = null;
+        int fewest = snapshot.size() / 2;
+        for (Condition condition : query.getConditions()) {
+            TaskIndex.Access access = current.taskIndex.access(condition);
+            int estimate = access == null ? -1 : access.estimate();
+            if (estimate >= 0 && estimate < fewest) {
+                fewest = estimate;
+                best = access;
+            }
         }
-        return size == 0 ? "You currently have nothing in your list" : str.substring(0, str.length() - 1);
+        Condition indexed = best == null ? null : best.getCondition();
+        long[] candidates = best == null ? null : best.candidates();
+
+        boolean isDateOrdered = indexed != null && TaskIndex.isDateOrdered(indexed);
+        Condition.Field orderBy = query.getOrderBy();
+        boolean isInFinalOrder = orderBy == null
+                ? !isDateOrdered
+                : isDateOrdered && orderBy == Condition.Field.DATE && !query.isDescending();
+        int stopAt = isInFinalOrder && query.getLimit() != Query.NO_LIMIT ? query.getLimit() : Integer.MAX_VALUE;
+
+        ArrayList<Task> matches = new ArrayList<>();
+        ArrayList<Integer> ids = new ArrayList<>();
+        int examined = 0;
+        int size = candidates == null ? snapshot.size() : candidates.length;
+        for (int i = 0; i < size && matches.size() < stopAt; ++i) {
+            int position = candidates == null ? i : indexOf(snapshot, candidates[i]);
+            Task task = snapshot.get(position);
+            examined++;
+            if (query.test(task)) {
+                matches.add(task);
+                ids.add(position + 1);
+            }
+        }
+        int matched = matches.size();
+
+        if (!isInFinalOrder) {
+            sortMatches(matches, ids, orderBy, query.isDescending());
+        }
+        if (query.getLimit() != Query.NO_LIMIT && matches.size() > query.getLimit()) {
+            matches.subList(query.getLimit(), matches.size()).clear();
+            ids.subList(query.getLimit(), ids.size()).clear();
+        }
+        String accessPath = indexed == null ? "full scan" : TaskIndex.nameOf(indexed);
+        QueryPlan plan = new QueryPlan(accessPath, indexed, examined, matched, snapshot.size());
+        int[] taskIds = ids.stream().mapToInt(Integer::intValue).toArray();
+        return CommandResult.queried(matches, taskIds, snapshot.size(), query.isExplain() ? plan : null);
+    }
+
+    /**
+     * Returns the number of tasks of each kind, done and overdue, in O(1) whatever the size of the list.
+     * The first call counts the whole list once, off the lock.
+     * @return The counts of the tasks.
+     */
+    public CommandResult getSummary() {
+        if (counter == null) {
+            // Counting is left until first asked for, so loading the list does not wait for it.
+            buildOffLock(TaskList::countTasks, TaskList::applyToCounter, newCounter -> {
+                if (counter == null) {
+                    listeners.add(newCounter);
+                    counter = newCounter;
+                }
+            });
+        }
+        return CommandResult.summarized(counter.summarize(), version.tasks.size());
+    }
+
+    /**
+     * Returns every pair of overlapping events.
+     * @return The overlapping events, two by two.
+     */
+    public CommandResult getConflicts() {
+        Version current = getEventIndexedVersion();
+        return CommandResult.conflicts(current.events.conflicts(), current.tasks.size());
+    }
+
+    /**
+     * Returns all the tasks in the Task List.
+     * @return The latest published version of all the tasks.
+     */
+    public CommandResult getAllTask() {
+        return CommandResult.listed(version.tasks);
     }
 
     /**
@@ -132,23 +298,300 @@ public class TaskList {
     @Override
     public String toString() {
         StringBuilder str = new StringBuilder();
-        for (Task task : tasks) {
+        for (Task task : version.tasks) {
             str.append(task.toString()).append("\n");
         }
         return str.toString();
     }
 
-    private Task getTask(int index) throws DukeException {
+    /**
+     * Returns the latest published version of the tasks.
+     * The returned list is immutable and is safe to read from any thread.
+     * @return The latest published version of the tasks.
+     */
+    public List<Task> getSnapshot() {
+        return version.tasks;
+    }
+
+    /**
+     * Adds a listener told about every later change, on the thread making the change.
+     * The listener is first given the whole list, so it misses no change. Listeners should return quickly,
+     * as changes wait for them.
+     * @param listener Takes the changes to the list.
+     */
+    public synchronized void addListener(Consumer<TaskChange> listener) {
+        assert listener != null : "[duke.TaskList.addListener]: listener parameter should not be null.";
+
+        listener.accept(TaskChange.loaded(version.tasks));
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     * @param listener The listener to be removed.
+     */
+    public void removeListener(Consumer<TaskChange> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns the latest version with the interval tree over its events, building the tree on first use so
+     * loading the list does not wait for it. The tree is built off the lock.
+     */
+    private Version getEventIndexedVersion() {
+        if (version.events == null) {
+            buildOffLock(EventIndex::of, TaskList::applyToEvents, events -> {
+                if (version.events == null) {
+                    version = new Version(version.tasks, events, version.taskIndex);
+                }
+            });
+        }
+        // Every version published after the tree is installed carries it along.
+        return version;
+    }
+
+    /**
+     * Returns a counter of the tasks, following the clock of the system.
+     */
+    private static TaskCounter countTasks(List<Task> tasks) {
+        TaskCounter taskCounter = new TaskCounter(Clock.systemDefaultZone());
+        taskCounter.accept(TaskChange.loaded(tasks));
+        return taskCounter;
+    }
+
+    /**
+     * Returns the counter after a change of the tasks, the same counter updated.
+     */
+    private static TaskCounter applyToCounter(TaskCounter taskCounter, TaskChange change) {
+        taskCounter.accept(change);
+        return taskCounter;
+    }
+
+    /**
+     * Builds a view of the tasks without holding the lock, so the writer is not held up while it is built.
+     * The changes made meanwhile are recorded, then applied to the view under the lock, which installs it.
+     * @param build Builds the view from a version of the tasks.
+     * @param apply Applies a change to the view, returning the view after the change.
+     * @param install Installs the view once it matches the latest version, called under the lock.
+     */
+    private <T> void buildOffLock(Function<List<Task>, T> build, BiFunction<T, TaskChange, T> apply,
+            Consumer<T> install) {
+        List<TaskChange> missed = new ArrayList<>();
+        Consumer<TaskChange> recorder = missed::add;
+        List<Task> snapshot;
+        synchronized (this) {
+            snapshot = version.tasks;
+            listeners.add(recorder);
+        }
+        try {
+            T view = build.apply(snapshot);
+            synchronized (this) {
+                for (TaskChange change : missed) {
+                    view = apply.apply(view, change);
+                }
+                install.accept(view);
+            }
+        } finally {
+            listeners.remove(recorder);
+        }
+    }
+
+    /**
+     * Returns the interval tree after a change of the tasks.
+     */
+    private static EventIndex applyToEvents(EventIndex events, TaskChange change) {
+        if (!(change.getTask() instanceof Event)) {
+            return events;
+        }
+        Event event = (Event) change.getTask();
+        switch (change.getType()) {
+        case ADDED:
+            return events.with(event);
+        case DONE:
+            // The done copy takes the place of the event in the tree too.
+            return events.without((Event) change.getPreviousTask()).with(event);
+        case REMOVED:
+            return events.without(event);
+        default:
+            return events;
+        }
+    }
+
+    /**
+     * Returns the latest version with the secondary indices over its tasks, building them on first use so
+     * loading the list does not wait for them. The indices are built off the lock.
+     */
+    private Version getTaskIndexedVersion() {
+        if (version.taskIndex == null) {
+            buildOffLock(TaskIndex::new, TaskList::applyToTaskIndex, taskIndex -> {
+                if (version.taskIndex == null) {
+                    version = new Version(version.tasks, version.events, taskIndex);
+                }
+            });
+        }
+        return version;
+    }
+
+    /**
+     * Returns the secondary indices after a change of the tasks.
+     */
+    private static TaskIndex applyToTaskIndex(TaskIndex taskIndex, TaskChange change) {
+        switch (change.getType()) {
+        case ADDED:
+            return taskIndex.with(change.getTask());
+        case DONE:
+            return taskIndex.withDone(change.getPreviousTask(), change.getTask());
+        case REMOVED:
+            return taskIndex.without(change.getTask());
+        default:
+            return taskIndex;
+        }
+    }
+
+    /**
+     * Sorts the matches by a field, keeping the order of the list between equal tasks.
+     * Tasks without a date come last when sorting by date.
+     */
+    private static void sortMatches(ArrayList<Task> matches, ArrayList<Integer> ids, Condition.Field orderBy,
+            boolean isDescending) {
+        Integer[] order = new Integer[matches.size()];
+        for (int i = 0; i < order.length; ++i) {
+            order[i] = i;
+        }
+        Comparator<Integer> byField = (first, second) -> {
+            Task firstTask = matches.get(first);
+            Task secondTask = matches.get(second);
+            boolean isFirstUndated = firstTask.getDate() == null;
+            if (orderBy == Condition.Field.DATE && isFirstUndated != (secondTask.getDate() == null)) {
+                return isFirstUndated ? 1 : -1;
+            }
+            int comparison = compareBy(orderBy, firstTask, secondTask);
+            return isDescending ? -comparison : comparison;
+        };
+        Arrays.sort(order, byField.thenComparing(ids::get));
+
+        ArrayList<Task> sortedMatches = new ArrayList<>(order.length);
+        ArrayList<Integer> sortedIds = new ArrayList<>(order.length);
+        for (Integer i : order) {
+            sortedMatches.add(matches.get(i));
+            sortedIds.add(ids.get(i));
+        }
+        matches.clear();
+        matches.addAll(sortedMatches);
+        ids.clear();
+        ids.addAll(sortedIds);
+    }
+
+    /**
+     * Compares two tasks by a field, or returns 0 to keep the order of the list.
+     */
+    private static int compareBy(Condition.Field field, Task first, Task second) {
+        if (field == null) {
+            return 0;
+        }
+        switch (field) {
+        case TEXT:
+            return first.getDescription().compareTo(second.getDescription());
+        case TYPE:
+            return Condition.typeOf(first).compareTo(Condition.typeOf(second));
+        case DONE:
+            return Boolean.compare(first.isDone(), second.isDone());
+        case DATE:
+            if (first.getDate() == null || second.getDate() == null) {
+                return 0;
+            }
+            return first.getDate().compareTo(second.getDate());
+        default:
+            return 0;
+        }
+    }
+
+    /**
+     * Returns the position of the task with a sequence, as the list is sorted by sequence.
+     */
+    private static int indexOf(List<Task> tasks, long sequence) {
+        int low = 0;
+        int high = tasks.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleSequence = tasks.get(middle).sequence;
+            if (middleSequence < sequence) {
+                low = middle + 1;
+            } else if (middleSequence > sequence) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        throw new AssertionError("[duke.TaskList.indexOf]: the indices should match the list.");
+    }
+
+    /**
+     * A matching task with its score.
+     */
+    private static class RankedTask {
+        /** Orders the worse match first: the lower score, or the later task for the same score */
+        private static final Comparator<RankedTask> WORST_FIRST = Comparator.<RankedTask>comparingDouble(
+            ranked -> ranked.score).thenComparing(ranked -> ranked.index, Comparator.reverseOrder());
+
+        private final Task task;
+        private final int index;
+        private final double score;
+
+        private RankedTask(Task task, int index, double score) {
+            this.task = task;
+            this.index = index;
+            this.score = score;
+        }
+    }
+
+    private void notifyListeners(TaskChange change) {
+        for (Consumer<TaskChange> listener : listeners) {
+            listener.accept(change);
+        }
+    }
+
+    /**
+     * Publishes a new version of the tasks with its indices brought up to date, then tells the listeners.
+     */
+    private void publish(ChunkedTasks newTasks, TaskChange change) {
+        Version current = version;
+        EventIndex events = current.events == null ? null : applyToEvents(current.events, change);
+        TaskIndex taskIndex = current.taskIndex == null ? null : applyToTaskIndex(current.taskIndex, change);
+        version = new Version(newTasks, events, taskIndex);
+        notifyListeners(change);
+    }
+
+    /**
+     * A version of the tasks with the indices over them, never modified once published.
+     */
+    private static class Version {
+        private final ChunkedTasks tasks;
+
+        /** The interval tree over the events, or null until it is first needed */
+        private final EventIndex events;
+
+        /** The secondary indices over the tasks, or null until a query first needs them */
+        private final TaskIndex taskIndex;
+
+        private Version(ChunkedTasks tasks, EventIndex events, TaskIndex taskIndex) {
+            this.tasks = tasks;
+            this.events = events;
+            this.taskIndex = taskIndex;
+        }
+    }
+
+    private static Task getTask(List<Task> tasks, int index) throws DukeException {
         if (index < 0 || index >= tasks.size()) {
             if (tasks.size() == 0) {
-                throw new DukeException(DukeException.Errors.TASK_NOT_FOUND.toString()
-                        + " Task list is empty.");
+                throw new DukeException(DukeException.Errors.TASK_NOT_FOUND,
+                        " Task list is empty.");
             } else if (tasks.size() == 1) {
-                throw new DukeException(DukeException.Errors.TASK_NOT_FOUND.toString()
-                        + " Only 1 item in the list.");
+                throw new DukeException(DukeException.Errors.TASK_NOT_FOUND,
+                        " Only 1 item in the list.");
             } else {
-                throw new DukeException(DukeException.Errors.TASK_NOT_FOUND.toString()
-                        + " Input a number from [1..." + tasks.size() + "].");
+                throw new DukeException(DukeException.Errors.TASK_NOT_FOUND,
+                        " Input a number from [1..." + tasks.size() + "].");
             }
         }
         return tasks.get(index);
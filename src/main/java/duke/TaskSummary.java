@@ -0,0 +1,80 @@
+package duke;
+
+import duke.query.Condition;
+
+/**
+ * The number of tasks of each kind, done and overdue, at one point in time.
+ */
+public class TaskSummary {
+
+    /** The number of tasks of each kind, by Condition.Type ordinal */
+    private final int[] counts;
+
+    /** The number of done tasks of each kind, by Condition.Type ordinal */
+    private final int[] doneCounts;
+
+    /** The number of undone deadlines already past */
+    private final int overdue;
+
+    /**
+     * Constructor for TaskSummary.
+     * @param counts The number of tasks of each kind, by Condition.Type ordinal.
+     * @param doneCounts The number of done tasks of each kind, by Condition.Type ordinal.
+     * @param overdue The number of undone deadlines already past.
+     */
+    TaskSummary(int[] counts, int[] doneCounts, int overdue) {
+        this.counts = counts.clone();
+        this.doneCounts = doneCounts.clone();
+        this.overdue = overdue;
+    }
+
+    /**
+     * Returns the number of tasks of a kind.
+     * @param type The kind of task.
+     * @return The number of tasks of the kind.
+     */
+    public int getCount(Condition.Type type) {
+        return counts[type.ordinal()];
+    }
+
+    /**
+     * Returns the number of undone tasks of a kind.
+     * @param type The kind of task.
+     * @return The number of undone tasks of the kind.
+     */
+    public int getOpenCount(Condition.Type type) {
+        return counts[type.ordinal()] - doneCounts[type.ordinal()];
+    }
+
+    /**
+     * Returns the number of tasks.
+     * @return The number of tasks.
+     */
+    public int getTotal() {
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of undone tasks.
+     * @return The number of undone tasks.
+     */
+    public int getOpenTotal() {
+        int open = getTotal();
+        for (int count : doneCounts) {
+            open -= count;
+        }
+        return open;
+    }
+
+    /**
+     * Returns the number of undone deadlines already past.
+     * @return The number of overdue deadlines.
+     */
+    public int getOverdue() {
+        return overdue;
+    }
+}
@@ -1,7 +1,23 @@
 package duke;
 
-import java.util.Scanner;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.List;
 
+import duke.query.Condition;
+
+/**
+ * The console UI of Duke.
+ */
 public class Ui {
     public static final String SPACE = "    ";
     public static final String LOGO = SPACE
@@ -13,18 +29,50 @@ public class Ui {
             + "██████   ██████  ██   ██ ██   ██    ██";
     public static final String BOT_LINE = "============================================================";
     public static final String USER_LINE = "_ _ _ _ _ _ _ _ _ _ _ _ _ _ _ _ _ _ _ _ _ _ _ _ _ _ _ _ _ _";
-    private static Scanner sc = new Scanner(System.in);
+    private static final String NEW_LINE = System.lineSeparator();
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /** The user input reader */
+    private static BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
+
+    /** The console output writer */
+    private static Writer writer = new PrintWriter(System.out);
+
+    /** True if the output is only flushed when there is no pending input */
+    private static boolean isHeadless = false;
+
+    /**
+     * Switches the console to headless mode.
+     * Input and output are buffered, and the output is only flushed when the pending input is exhausted.
+     */
+    public static void enableHeadless() {
+        Charset charset = Charset.defaultCharset();
+        reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(FileDescriptor.in), charset), BUFFER_SIZE);
+        writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), charset), BUFFER_SIZE);
+        isHeadless = true;
+    }
+
+    /**
+     * Returns true if the console is in headless mode.
+     * @return True if the console is in headless mode.
+     */
+    public static boolean isHeadless() {
+        return isHeadless;
+    }
 
     /**
      * Displays the Greetings
      */
     public static void showGreetings() {
-        System.out.println(SPACE + BOT_LINE);
-        System.out.println(LOGO);
-        System.out.println(SPACE + BOT_LINE);
-        System.out.println(SPACE + "Jak się masz? My name-a Borat. I like you.");
-        System.out.println(SPACE + "What I do for you?");
-        System.out.println(SPACE + BOT_LINE);
+        writeLine(SPACE + BOT_LINE);
+        writeLine(LOGO);
+        writeLine(SPACE + BOT_LINE);
+        writeLine(SPACE + "Jak się masz? My name-a Borat. I like you.");
+        writeLine(SPACE + "What I do for you?");
+        writeLine(SPACE + BOT_LINE);
+        flushIfInteractive();
     }
 
     /**
@@ -44,25 +92,164 @@ public class Ui {
         return "Bye. Have a good time!";
     }
 
+    /**
+     * Returns the text of a command result, as shown to the user.
+     * @param result The command result.
+     * @return The text of the command result.
+     */
+    public static String render(CommandResult result) {
+        assert result != null : "[duke.Ui.render]: result parameter should not be null.";
+
+        List<Task> tasks = result.getTasks();
+        switch (result.getType()) {
+        case ADDED:
+            StringBuilder added = new StringBuilder("Got it. I've added this task: \n")
+                    .append("  ").append(tasks.get(0).toString()).append("\n")
+                    .append("Now you have ").append(result.getListSize()).append(" tasks in the list");
+            if (!result.getOverlaps().isEmpty()) {
+                added.append("\nCareful! It is at the same time as:");
+                for (Task overlap : result.getOverlaps()) {
+                    added.append("\n  ").append(overlap.toString());
+                }
+            }
+            return added.toString();
+        case DONE:
+            return "Great success! Task Complete: \n" + "  " + tasks.get(0).toString();
+        case REMOVED:
+            return "Got it. I've removed this task: \n"
+                    + "  " + tasks.get(0).toString() + "\n"
+                    + "Now you have " + result.getListSize() + " tasks in the list";
+        case FOUND:
+            StringBuilder found = new StringBuilder("Here are the matching tasks in your list:\n");
+            int[] foundIds = result.getTaskIds();
+            for (int i = 0; i < foundIds.length; ++i) {
+                found.append(foundIds[i]).append(". ").append(tasks.get(i).toString()).append("\n");
+            }
+            return found.toString();
+        case QUERIED:
+            int[] ids = result.getTaskIds();
+            StringBuilder queried = new StringBuilder(tasks.isEmpty()
+                    ? "No task in your list matches"
+                    : "Here are the matching tasks in your list:");
+            for (int i = 0; i < ids.length; ++i) {
+                queried.append("\n ").append(ids[i]).append(". ").append(tasks.get(i).toString());
+            }
+            if (result.getPlan() != null) {
+                queried.append("\n").append(result.getPlan().toString());
+            }
+            return queried.toString();
+        case LISTED:
+            int size = tasks.size();
+            if (size == 0) {
+                return "You currently have nothing in your list";
+            }
+            StringBuilder listed = new StringBuilder("This your task in list:\n");
+            for (int i = 0; i < size; ++i) {
+                listed.append(" ").append(i + 1).append(". ").append(tasks.get(i).toString()).append("\n");
+            }
+            return listed.substring(0, listed.length() - 1);
+        case SUMMARY:
+            return getSummaryMessage(result.getSummary());
+        case CONFLICTS:
+            if (tasks.isEmpty()) {
+                return "Very nice! None of your events are at the same time";
+            }
+            StringBuilder conflicts = new StringBuilder("These events are at the same time:\n");
+            for (int i = 0; i < tasks.size(); i += 2) {
+                conflicts.append(" ").append(i / 2 + 1).append(". ").append(tasks.get(i).toString())
+                        .append("\n    and ").append(tasks.get(i + 1).toString()).append("\n");
+            }
+            return conflicts.substring(0, conflicts.length() - 1);
+        case HELP:
+            return getHelpMenu();
+        case DATES:
+            return getAllAcceptedDates();
+        case STATS:
+            return result.getStatsReport();
+        case BYE:
+            return getGoodByeMessage();
+        default:
+            return result.getErrorMessage();
+        }
+    }
+
+    /**
+     * Returns the text of the counts of the tasks.
+     * @param summary The counts of the tasks.
+     * @return The text of the counts.
+     */
+    public static String getSummaryMessage(TaskSummary summary) {
+        assert summary != null : "[duke.Ui.getSummaryMessage]: summary parameter should not be null.";
+        return "Here is how your list is doing:\n"
+                + " Tasks: " + summary.getTotal() + " (" + summary.getOpenTotal() + " open)\n"
+                + " Todos: " + summary.getCount(Condition.Type.TODO)
+                + " (" + summary.getOpenCount(Condition.Type.TODO) + " open)\n"
+                + " Deadlines: " + summary.getCount(Condition.Type.DEADLINE)
+                + " (" + summary.getOpenCount(Condition.Type.DEADLINE) + " open, "
+                + summary.getOverdue() + " overdue)\n"
+                + " Events: " + summary.getCount(Condition.Type.EVENT)
+                + " (" + summary.getOpenCount(Condition.Type.EVENT) + " open)";
+    }
+
+    /**
+     * Returns the message shown when the saved data cannot be loaded.
+     * @param reason The reason the load failed.
+     * @return The text of the message.
+     */
+    public static String getLoadFailedMessage(String reason) {
+        assert reason != null : "[duke.Ui.getLoadFailedMessage]: reason parameter should not be null.";
+        return "Oh no! I cannot read your saved tasks:\n" + "  " + reason + "\n"
+                + "Fix or move the saved file, then start me again. I do nothing until then, so it is not lost.";
+    }
+
+    /**
+     * Returns the reminder of a task coming up soon.
+     * @param task The task coming up.
+     * @return The text of the reminder.
+     */
+    public static String getReminderMessage(Task task) {
+        assert task != null : "[duke.Ui.getReminderMessage]: task parameter should not be null.";
+        return "Wawaweewa! This is coming up soon:\n" + "  " + task.toString();
+    }
+
     /**
      * Displays Borat's message to the user
      * @param message The message content to be displayed
      */
-    public static void showMessage(String message) {
+    public static synchronized void showMessage(String message) {
         assert message != null : "[duke.Ui.showMessage]: message parameter should not be null.";
-        message = SPACE + message.replace("\n", "\n" + SPACE);
-        System.out.println(SPACE + USER_LINE);
-        System.out.println(message);
-        System.out.println(" ");
-        System.out.println(SPACE + BOT_LINE);
+        writeLine(SPACE + USER_LINE);
+        writeIndented(message);
+        writeLine(" ");
+        writeLine(SPACE + BOT_LINE);
+        flushIfInteractive();
     }
 
     /**
      * Get the user input
-     * @return The string representation of the user input
+     * @return The string representation of the user input, or null when the input is exhausted.
      */
     public static String getInput() {
-        return sc.nextLine();
+        try {
+            if (isHeadless && !reader.ready()) {
+                // About to block on input, so the user must see everything so far.
+                flush();
+            }
+            return reader.readLine();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes out all the buffered output.
+     */
+    public static synchronized void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            System.err.println("Failed to write to the console");
+        }
     }
 
     /**
@@ -94,4 +281,41 @@ public class Ui {
         }
         return sb.toString();
     }
+
+    /**
+     * Writes the message with every line indented by SPACE, followed by a new line.
+     * @param message The message to be written.
+     */
+    private static void writeIndented(String message) {
+        try {
+            writer.write(SPACE);
+            int start = 0;
+            int end = message.indexOf('\n');
+            while (end >= 0) {
+                writer.write(message, start, end + 1 - start);
+                writer.write(SPACE);
+                start = end + 1;
+                end = message.indexOf('\n', start);
+            }
+            writer.write(message, start, message.length() - start);
+            writer.write(NEW_LINE);
+        } catch (IOException e) {
+            System.err.println("Failed to write to the console");
+        }
+    }
+
+    private static void writeLine(String line) {
+        try {
+            writer.write(line);
+            writer.write(NEW_LINE);
+        } catch (IOException e) {
+            System.err.println("Failed to write to the console");
+        }
+    }
+
+    private static void flushIfInteractive() {
+        if (!isHeadless) {
+            flush();
+        }
+    }
 }
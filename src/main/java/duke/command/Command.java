@@ -1,5 +1,6 @@
 package duke.command;
 
+import duke.CommandResult;
 import duke.DukeException;
 
 /**
@@ -8,9 +9,17 @@ import duke.DukeException;
 public abstract class Command {
 
     /**
-     * Returns an output message after executing a command.
-     * @return The output message of the command.
+     * Returns the result of executing a command.
+     * @return The result of the command.
      * @throws DukeException Thrown when a duke exception happens.
      */
-    public abstract String execute() throws DukeException;
+    public abstract CommandResult execute() throws DukeException;
+
+    /**
+     * Returns true if the command changes the task list, and false if it only reads it.
+     * @return True if the command changes the task list.
+     */
+    public boolean isMutating() {
+        return false;
+    }
 }
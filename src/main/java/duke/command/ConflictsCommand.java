@@ -0,0 +1,31 @@
+package duke.command;
+
+import duke.CommandResult;
+import duke.DukeException;
+import duke.TaskList;
+
+/**
+ * The command to list the events that are at the same time.
+ */
+public class ConflictsCommand extends Command {
+
+    private TaskList taskList;
+
+    /**
+     * Constructor for ConflictsCommand.
+     * @param taskList The list of tasks.
+     */
+    public ConflictsCommand(TaskList taskList) {
+        this.taskList = taskList;
+    }
+
+    /**
+     * Returns the result of executing the conflicts command.
+     * @return The result of the command.
+     * @throws DukeException Thrown when a duke exception happens.
+     */
+    @Override
+    public CommandResult execute() throws DukeException {
+        return taskList.getConflicts();
+    }
+}
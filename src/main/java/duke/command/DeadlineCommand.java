@@ -1,5 +1,6 @@
 package duke.command;
 
+import duke.CommandResult;
 import duke.Deadline;
 import duke.DukeException;
 import duke.TaskList;
@@ -26,13 +27,22 @@ public class DeadlineCommand extends Command {
     }
 
     /**
-     * Returns an output message after executing the deadline command.
-     * @return The output message of the command.
+     * Returns the result of executing the deadline command.
+     * @return The result of the command.
      * @throws DukeException Thrown when a duke exception happens.
      */
     @Override
-    public String execute() throws DukeException {
+    public CommandResult execute() throws DukeException {
         Deadline deadline = new Deadline(description, date);
         return taskList.addItem(deadline);
     }
+
+    /**
+     * Returns true as the command changes the task list.
+     * @return True.
+     */
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
 }
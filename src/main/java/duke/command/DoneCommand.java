@@ -1,5 +1,6 @@
 package duke.command;
 
+import duke.CommandResult;
 import duke.DukeException;
 import duke.TaskList;
 
@@ -22,12 +23,21 @@ public class DoneCommand extends Command {
     }
 
     /**
-     * Returns an output message after executing the done command.
-     * @return The output message of the command.
+     * Returns the result of executing the done command.
+     * @return The result of the command.
      * @throws DukeException Thrown when a duke exception happens.
      */
     @Override
-    public String execute() throws DukeException {
+    public CommandResult execute() throws DukeException {
         return taskList.markDone(index);
     }
+
+    /**
+     * Returns true as the command changes the task list.
+     * @return True.
+     */
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
 }
@@ -1,5 +1,6 @@
 package duke.command;
 
+import duke.CommandResult;
 import duke.DukeException;
 import duke.Event;
 import duke.TaskList;
@@ -11,6 +12,7 @@ public class EventCommand extends Command {
 
     private String description;
     private String date;
+    private String endDate;
     private TaskList taskList;
 
     /**
@@ -20,19 +22,40 @@ public class EventCommand extends Command {
      * @param taskList The list of tasks.
      */
     public EventCommand(String description, String date, TaskList taskList) {
+        this(description, date, null, taskList);
+    }
+
+    /**
+     * Constructor for EventCommand with an optional end date.
+     * @param description The description of the task.
+     * @param date The event date.
+     * @param endDate The event end date, or null if it has none.
+     * @param taskList The list of tasks.
+     */
+    public EventCommand(String description, String date, String endDate, TaskList taskList) {
         this.taskList = taskList;
         this.date = date;
+        this.endDate = endDate;
         this.description = description;
     }
 
     /**
-     * Returns an output message after executing the event command.
-     * @return The output message of the command.
+     * Returns the result of executing the event command.
+     * @return The result of the command.
      * @throws DukeException Thrown when a duke exception happens.
      */
     @Override
-    public String execute() throws DukeException {
-        Event event = new Event(description, date);
+    public CommandResult execute() throws DukeException {
+        Event event = new Event(description, date, endDate);
         return taskList.addItem(event);
     }
+
+    /**
+     * Returns true as the command changes the task list.
+     * @return True.
+     */
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
 }
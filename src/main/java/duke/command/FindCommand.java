@@ -1,5 +1,6 @@
 package duke.command;
 
+import duke.CommandResult;
 import duke.DukeException;
 import duke.TaskList;
 
@@ -9,6 +10,7 @@ import duke.TaskList;
 public class FindCommand extends Command {
 
     private String keyword;
+    private int limit;
     private TaskList taskList;
 
     /**
@@ -17,17 +19,28 @@ public class FindCommand extends Command {
      * @param taskList The list of tasks.
      */
     public FindCommand(String keyword, TaskList taskList) {
+        this(keyword, Integer.MAX_VALUE, taskList);
+    }
+
+    /**
+     * The constructor for the FindCommand keeping only the best matches.
+     * @param keyword The keyword to be searched.
+     * @param limit The most tasks found.
+     * @param taskList The list of tasks.
+     */
+    public FindCommand(String keyword, int limit, TaskList taskList) {
         this.taskList = taskList;
         this.keyword = keyword;
+        this.limit = limit;
     }
 
     /**
-     * Returns an output message after executing the find command.
-     * @return The output message of the command.
+     * Returns the result of executing the find command.
+     * @return The result of the command.
      * @throws DukeException Thrown when a duke exception happens.
      */
     @Override
-    public String execute() throws DukeException {
-        return taskList.find(keyword);
+    public CommandResult execute() throws DukeException {
+        return taskList.find(keyword, limit);
     }
 }
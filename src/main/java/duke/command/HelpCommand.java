@@ -1,7 +1,7 @@
 package duke.command;
 
+import duke.CommandResult;
 import duke.DukeException;
-import duke.Ui;
 
 /**
  * The command to get the help list.
@@ -9,12 +9,12 @@ import duke.Ui;
 public class HelpCommand extends Command {
 
     /**
-     * Returns an output message after executing the help command.
-     * @return The output message of the command.
+     * Returns the result of executing the help command.
+     * @return The result of the command.
      * @throws DukeException Thrown when a duke exception happens.
      */
     @Override
-    public String execute() throws DukeException {
-        return Ui.getHelpMenu();
+    public CommandResult execute() throws DukeException {
+        return CommandResult.of(CommandResult.Type.HELP);
     }
 }
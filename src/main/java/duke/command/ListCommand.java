@@ -1,15 +1,20 @@
 package duke.command;
 
+import duke.CommandResult;
 import duke.DukeException;
 import duke.TaskList;
+import duke.query.Query;
 
 /**
- * The command to list all tasks.
+ * The command to list all tasks, or the tasks matching a query.
  */
 public class ListCommand extends Command {
 
     private TaskList taskList;
 
+    /** The query, or null to list all the tasks */
+    private Query query;
+
     /**
      * Constructor for ListCommand.
      * @param taskList The list of tasks.
@@ -19,12 +24,22 @@ public class ListCommand extends Command {
     }
 
     /**
-     * Returns an output message after executing the list command.
-     * @return The output message of the command.
+     * Constructor for ListCommand with a query.
+     * @param query The query the listed tasks match.
+     * @param taskList The list of tasks.
+     */
+    public ListCommand(Query query, TaskList taskList) {
+        this.query = query;
+        this.taskList = taskList;
+    }
+
+    /**
+     * Returns the result of executing the list command.
+     * @return The result of the command.
      * @throws DukeException Thrown when a duke exception happens.
      */
     @Override
-    public String execute() throws DukeException {
-        return taskList.getAllTask();
+    public CommandResult execute() throws DukeException {
+        return query == null ? taskList.getAllTask() : taskList.query(query);
     }
 }
@@ -0,0 +1,47 @@
+package duke.command;
+
+import duke.CommandResult;
+import duke.DukeException;
+import duke.stats.Stats;
+
+/**
+ * The command to show, or turn on and off, the command latency and storage stats.
+ */
+public class StatsCommand extends Command {
+
+    /**
+     * What the command does with the stats.
+     */
+    public enum Action {
+        /** Shows the stats as they are */
+        SHOW,
+        /** Turns the stats on, then shows them */
+        ON,
+        /** Turns the stats off, then shows them */
+        OFF
+    }
+
+    private Action action;
+
+    /**
+     * Constructor for StatsCommand.
+     * @param action What the command does with the stats.
+     */
+    public StatsCommand(Action action) {
+        assert action != null : "[duke.command.StatsCommand.StatsCommand]: action parameter should not be null.";
+        this.action = action;
+    }
+
+    /**
+     * Returns the result of executing the stats command, with the stats as of now.
+     * @return The result of the command.
+     * @throws DukeException Thrown when a duke exception happens.
+     */
+    @Override
+    public CommandResult execute() throws DukeException {
+        if (action != Action.SHOW) {
+            Stats.setEnabled(action == Action.ON);
+        }
+        return CommandResult.stats(Stats.report());
+    }
+}
@@ -0,0 +1,31 @@
+package duke.command;
+
+import duke.CommandResult;
+import duke.DukeException;
+import duke.TaskList;
+
+/**
+ * The command to show how many tasks are open, done and overdue.
+ */
+public class SummaryCommand extends Command {
+
+    private TaskList taskList;
+
+    /**
+     * Constructor for SummaryCommand.
+     * @param taskList The list of tasks.
+     */
+    public SummaryCommand(TaskList taskList) {
+        this.taskList = taskList;
+    }
+
+    /**
+     * Returns the result of executing the summary command.
+     * @return The result of the command.
+     * @throws DukeException Thrown when a duke exception happens.
+     */
+    @Override
+    public CommandResult execute() throws DukeException {
+        return taskList.getSummary();
+    }
+}
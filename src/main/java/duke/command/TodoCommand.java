@@ -1,5 +1,6 @@
 package duke.command;
 
+import duke.CommandResult;
 import duke.DukeException;
 import duke.TaskList;
 import duke.Todo;
@@ -23,13 +24,22 @@ public class TodoCommand extends Command {
     }
 
     /**
-     * Returns an output message after executing the todo command.
-     * @return The output message of the command.
+     * Returns the result of executing the todo command.
+     * @return The result of the command.
      * @throws DukeException Thrown when a duke exception happens.
      */
     @Override
-    public String execute() throws DukeException {
+    public CommandResult execute() throws DukeException {
         Todo todo = new Todo(description);
         return taskList.addItem(todo);
     }
+
+    /**
+     * Returns true as the command changes the task list.
+     * @return True.
+     */
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
 }
@@ -0,0 +1,193 @@
+package duke.query;
+
+import java.time.LocalDateTime;
+
+import duke.Deadline;
+import duke.Event;
+import duke.SearchKey;
+import duke.Task;
+import duke.Todo;
+
+/**
+ * A condition of a query on one field of the tasks, such as `done=false` or `by<2021-09-01`.
+ */
+public class Condition {
+
+    /**
+     * The fields a condition can test.
+     */
+    public enum Field {
+        /** The kind of task: todo, deadline or event */
+        TYPE,
+        /** Whether the task is done */
+        DONE,
+        /** The date of a deadline or an event */
+        DATE,
+        /** The date of a deadline */
+        BY,
+        /** The date of an event */
+        AT,
+        /** The description and dates of the task, searched like `find` */
+        TEXT
+    }
+
+    /**
+     * The kinds of tasks.
+     */
+    public enum Type {
+        TODO,
+        DEADLINE,
+        EVENT
+    }
+
+    private final Field field;
+
+    /** The condition as typed, shown when the query is explained */
+    private final String text;
+
+    /** The kind of task, for TYPE conditions */
+    private final Type type;
+
+    /** The done status, for DONE conditions */
+    private final boolean isDone;
+
+    /** The earliest date (inclusive) and the latest date (exclusive) of date conditions, null if unbounded */
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+
+    /** The folded text the search key of the task must contain, for TEXT conditions */
+    private final String keyword;
+
+    private Condition(Field field, String text, Type type, boolean isDone, LocalDateTime from, LocalDateTime to,
+            String keyword) {
+        this.field = field;
+        this.text = text;
+        this.type = type;
+        this.isDone = isDone;
+        this.from = from;
+        this.to = to;
+        this.keyword = keyword;
+    }
+
+    /**
+     * Returns a condition on the kind of task.
+     * @param type The kind of task.
+     * @param text The condition as typed.
+     * @return The condition.
+     */
+    public static Condition ofType(Type type, String text) {
+        assert type != null : "[duke.query.Condition.ofType]: type parameter should not be null.";
+        return new Condition(Field.TYPE, text, type, false, null, null, null);
+    }
+
+    /**
+     * Returns a condition on the done status.
+     * @param isDone The done status.
+     * @param text The condition as typed.
+     * @return The condition.
+     */
+    public static Condition ofDone(boolean isDone, String text) {
+        return new Condition(Field.DONE, text, null, isDone, null, null, null);
+    }
+
+    /**
+     * Returns a condition on the date, keeping the tasks dated in a range.
+     * @param field DATE, BY or AT.
+     * @param from The earliest date (inclusive), or null if unbounded.
+     * @param to The latest date (exclusive), or null if unbounded.
+     * @param text The condition as typed.
+     * @return The condition.
+     */
+    public static Condition ofDate(Field field, LocalDateTime from, LocalDateTime to, String text) {
+        assert field == Field.DATE || field == Field.BY || field == Field.AT
+                : "[duke.query.Condition.ofDate]: field should be a date field.";
+        return new Condition(field, text, null, false, from, to, null);
+    }
+
+    /**
+     * Returns a condition on the description and dates, ignoring case and accents as `find` does.
+     * @param keyword The text the description or dates must contain.
+     * @param text The condition as typed.
+     * @return The condition.
+     */
+    public static Condition ofText(String keyword, String text) {
+        assert keyword != null : "[duke.query.Condition.ofText]: keyword parameter should not be null.";
+        return new Condition(Field.TEXT, text, null, false, null, null, SearchKey.fold(keyword));
+    }
+
+    /**
+     * Returns true if the task meets the condition.
+     * @param task The task.
+     * @return True if the task meets the condition.
+     */
+    public boolean test(Task task) {
+        switch (field) {
+        case TYPE:
+            return typeOf(task) == type;
+        case DONE:
+            return task.isDone() == isDone;
+        case BY:
+            return task instanceof Deadline && isInRange(task.getDate());
+        case AT:
+            return task instanceof Event && isInRange(task.getDate());
+        case DATE:
+            return isInRange(task.getDate());
+        case TEXT:
+            return task.getSearchKey().contains(keyword);
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Returns the kind of a task.
+     * @param task The task.
+     * @return The kind of the task.
+     */
+    public static Type typeOf(Task task) {
+        if (task instanceof Deadline) {
+            return Type.DEADLINE;
+        } else if (task instanceof Event) {
+            return Type.EVENT;
+        }
+        assert task instanceof Todo : "[duke.query.Condition.typeOf]: unknown kind of task.";
+        return Type.TODO;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public boolean isDone() {
+        return isDone;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    /**
+     * Returns the condition as typed.
+     * @return The condition as typed.
+     */
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    private boolean isInRange(LocalDateTime date) {
+        return date != null && (from == null || !date.isBefore(from)) && (to == null || date.isBefore(to));
+    }
+}
@@ -0,0 +1,82 @@
+package duke.query;
+
+import java.util.List;
+
+import duke.Task;
+
+/**
+ * A parsed `list` query: the conditions every listed task meets, the order of the tasks and how many are listed.
+ *
+ * <p>For example `list where type=deadline and done=false and by<2021-09-01 order by date limit 20`.</p>
+ */
+public class Query {
+
+    /** The limit of a query listing all its matches */
+    public static final int NO_LIMIT = -1;
+
+    private final List<Condition> conditions;
+
+    /** The field the tasks are sorted by, or null to keep the order of the list */
+    private final Condition.Field orderBy;
+
+    private final boolean isDescending;
+
+    /** The most tasks listed, or NO_LIMIT */
+    private final int limit;
+
+    /** True if the plan of the query is shown with its result */
+    private final boolean isExplain;
+
+    /**
+     * Constructor for Query.
+     * @param conditions The conditions every listed task meets.
+     * @param orderBy The field the tasks are sorted by, or null to keep the order of the list.
+     * @param isDescending True to sort the tasks in descending order.
+     * @param limit The most tasks listed, or NO_LIMIT.
+     * @param isExplain True if the plan of the query is shown with its result.
+     */
+    public Query(List<Condition> conditions, Condition.Field orderBy, boolean isDescending, int limit,
+            boolean isExplain) {
+        assert conditions != null : "[duke.query.Query.Query]: conditions parameter should not be null.";
+
+        this.conditions = List.copyOf(conditions);
+        this.orderBy = orderBy;
+        this.isDescending = isDescending;
+        this.limit = limit;
+        this.isExplain = isExplain;
+    }
+
+    public List<Condition> getConditions() {
+        return conditions;
+    }
+
+    public Condition.Field getOrderBy() {
+        return orderBy;
+    }
+
+    public boolean isDescending() {
+        return isDescending;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public boolean isExplain() {
+        return isExplain;
+    }
+
+    /**
+     * Returns true if the task meets every condition.
+     * @param task The task.
+     * @return True if the task meets every condition.
+     */
+    public boolean test(Task task) {
+        for (Condition condition : conditions) {
+            if (!condition.test(task)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
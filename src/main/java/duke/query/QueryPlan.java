@@ -0,0 +1,60 @@
+package duke.query;
+
+/**
+ * How a query was run: the access path chosen and the number of tasks it examined.
+ */
+public class QueryPlan {
+
+    /** The access path, such as "full scan" or "date index" */
+    private final String accessPath;
+
+    /** The condition served by the access path, or null for a full scan */
+    private final Condition indexed;
+
+    /** The number of tasks examined */
+    private final int examined;
+
+    /** The number of tasks meeting every condition among the examined ones */
+    private final int matched;
+
+    /** The number of tasks in the list */
+    private final int listSize;
+
+    /**
+     * Constructor for QueryPlan.
+     * @param accessPath The access path, such as "full scan" or "date index".
+     * @param indexed The condition served by the access path, or null for a full scan.
+     * @param examined The number of tasks examined.
+     * @param matched The number of tasks meeting every condition among the examined ones.
+     * @param listSize The number of tasks in the list.
+     */
+    public QueryPlan(String accessPath, Condition indexed, int examined, int matched, int listSize) {
+        this.accessPath = accessPath;
+        this.indexed = indexed;
+        this.examined = examined;
+        this.matched = matched;
+        this.listSize = listSize;
+    }
+
+    public String getAccessPath() {
+        return accessPath;
+    }
+
+    public int getExamined() {
+        return examined;
+    }
+
+    public int getMatched() {
+        return matched;
+    }
+
+    /**
+     * Returns the plan as shown to the user.
+     * @return The plan as shown to the user.
+     */
+    @Override
+    public String toString() {
+        String path = indexed == null ? accessPath : accessPath + " on " + indexed;
+        return "Plan: " + path + ", examined " + examined + " of " + listSize + " tasks, " + matched + " matched";
+    }
+}
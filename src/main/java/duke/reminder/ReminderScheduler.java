@@ -0,0 +1,159 @@
+package duke.reminder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import duke.Task;
+import duke.TaskChange;
+
+/**
+ * Reminds the user of the undone deadlines and events shortly before their date.
+ *
+ * <p>The scheduler listens to the task list. The whole list it is first given schedules a reminder for every
+ * undone dated task, adding a task schedules one, and marking a task as done or removing it cancels its
+ * reminder. The reminders wait in a single timing wheel ticked once a second, instead of a timer per task.</p>
+ */
+public class ReminderScheduler implements Consumer<TaskChange> {
+
+    /** How often the wheel is moved on */
+    private static final long TICK_MILLIS = 1000;
+
+    /** The reminders waiting, and the wheel they wait in, both guarded by this */
+    private final TimingWheel<Task> wheel;
+    private final Map<Task, TimingWheel.Timeout<Task>> timeouts = new IdentityHashMap<>();
+
+    /** How long before its date a task is reminded of */
+    private final Duration lead;
+
+    /** The source of the current time, and of the time zone of the task dates */
+    private final Clock clock;
+
+    /** Told about each task due soon, on the ticking thread */
+    private final Consumer<Task> listener;
+
+    private ScheduledExecutorService ticker;
+
+    /**
+     * Constructor for ReminderScheduler.
+     * @param lead How long before its date a task is reminded of.
+     * @param clock The source of the current time, and of the time zone of the task dates.
+     * @param listener Told about each task due soon, on the ticking thread.
+     */
+    public ReminderScheduler(Duration lead, Clock clock, Consumer<Task> listener) {
+        assert lead != null : "[duke.reminder.ReminderScheduler.ReminderScheduler]: lead should not be null.";
+        assert clock != null : "[duke.reminder.ReminderScheduler.ReminderScheduler]: clock should not be null.";
+        assert listener != null : "[duke.reminder.ReminderScheduler.ReminderScheduler]: listener should not be null.";
+
+        this.lead = lead;
+        this.clock = clock;
+        this.listener = listener;
+        this.wheel = new TimingWheel<>(TICK_MILLIS, clock.millis());
+    }
+
+    /**
+     * Starts ticking the wheel once a second on a daemon thread.
+     */
+    public synchronized void start() {
+        if (ticker != null) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "duke-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops ticking the wheel.
+     */
+    public synchronized void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    /**
+     * Schedules or cancels the reminders following a change of the task list.
+     * @param change The change to the task list.
+     */
+    @Override
+    public synchronized void accept(TaskChange change) {
+        switch (change.getType()) {
+        case LOADED:
+            for (TimingWheel.Timeout<Task> timeout : timeouts.values()) {
+                wheel.cancel(timeout);
+            }
+            timeouts.clear();
+            for (Task task : change.getTasks()) {
+                schedule(task);
+            }
+            break;
+        case ADDED:
+            schedule(change.getTask());
+            break;
+        case DONE:
+            cancel(change.getPreviousTask());
+            break;
+        case REMOVED:
+            cancel(change.getTask());
+            break;
+        default:
+            assert false : "[duke.reminder.ReminderScheduler.accept]: unknown change type.";
+        }
+    }
+
+    /**
+     * Moves the wheel on to the current time and tells the listener about the tasks now due soon.
+     */
+    public void tick() {
+        List<Task> due;
+        synchronized (this) {
+            due = wheel.advanceTo(clock.millis());
+            for (Task task : due) {
+                timeouts.remove(task);
+            }
+        }
+        for (Task task : due) {
+            listener.accept(task);
+        }
+    }
+
+    /**
+     * Returns the number of reminders waiting.
+     * @return The number of reminders waiting.
+     */
+    public synchronized int getPendingCount() {
+        return wheel.size();
+    }
+
+    private void schedule(Task task) {
+        LocalDateTime date = task.getDate();
+        if (date == null || task.isDone()) {
+            return;
+        }
+        long dateMillis = date.atZone(clock.getZone()).toInstant().toEpochMilli();
+        if (dateMillis <= clock.millis()) {
+            // Already past, too late for a reminder.
+            return;
+        }
+        timeouts.put(task, wheel.schedule(task, dateMillis - lead.toMillis()));
+    }
+
+    private void cancel(Task task) {
+        TimingWheel.Timeout<Task> timeout = timeouts.remove(task);
+        if (timeout != null) {
+            wheel.cancel(timeout);
+        }
+    }
+}
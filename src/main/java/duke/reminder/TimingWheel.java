@@ -0,0 +1,208 @@
+package duke.reminder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A hierarchical timing wheel, holding items until their deadline passes.
+ *
+ * <p>Each of the levels has 64 slots. Level 0 has a slot per tick, and each slot of a higher level spans
+ * a whole turn of the level below it. An item is placed on the lowest level whose turn reaches its deadline,
+ * and moves down a level each time the wheel reaches its slot, until it expires from level 0. Scheduling and
+ * cancelling are O(1), and each tick only looks at one slot per level, whatever the number of items.</p>
+ *
+ * <p>The wheel is not thread-safe, callers must hold a lock around it.</p>
+ *
+ * @param <T> The type of the items.
+ */
+public class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 5;
+
+    /** The furthest tick an item can be placed ahead, further deadlines are placed here and moved later */
+    private static final long SPAN = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    /** The length of a tick in milliseconds */
+    private final long tickMillis;
+
+    /** The sentinel of the list of timeouts in each slot of each level */
+    private final List<List<Timeout<T>>> wheels = new ArrayList<>();
+
+    /** The last tick processed */
+    private long currentTick;
+
+    /** The number of items waiting */
+    private int size;
+
+    /**
+     * Constructor for TimingWheel.
+     * @param tickMillis The length of a tick in milliseconds.
+     * @param startMillis The time to start counting ticks from, in epoch milliseconds.
+     */
+    public TimingWheel(long tickMillis, long startMillis) {
+        assert tickMillis > 0 : "[duke.reminder.TimingWheel.TimingWheel]: tickMillis should be positive.";
+
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        for (int level = 0; level < LEVELS; level++) {
+            List<Timeout<T>> slots = new ArrayList<>(SLOTS);
+            for (int slot = 0; slot < SLOTS; slot++) {
+                slots.add(Timeout.sentinel());
+            }
+            wheels.add(slots);
+        }
+    }
+
+    /**
+     * Schedules an item to expire at a deadline. A deadline already passed expires on the next tick.
+     * @param item The item.
+     * @param deadlineMillis The deadline in epoch milliseconds.
+     * @return The timeout, which can be cancelled.
+     */
+    public Timeout<T> schedule(T item, long deadlineMillis) {
+        Timeout<T> timeout = new Timeout<>(item, Math.max(currentTick + 1, ceilDiv(deadlineMillis, tickMillis)));
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancels a timeout, if it has not expired or been cancelled yet.
+     * @param timeout The timeout to be cancelled.
+     * @return True if the timeout was waiting.
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (!timeout.isLinked()) {
+            return false;
+        }
+        timeout.unlink();
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the wheel up to a time and returns the items whose deadline has passed.
+     * @param nowMillis The current time in epoch milliseconds.
+     * @return The expired items, in the order of their deadlines.
+     */
+    public List<T> advanceTo(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade(1);
+            Timeout<T> head = wheels.get(0).get((int) (currentTick & SLOT_MASK));
+            for (Timeout<T> timeout = head.next; timeout != head; timeout = head.next) {
+                timeout.unlink();
+                size--;
+                expired.add(timeout.item);
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Returns the number of items waiting.
+     * @return The number of items waiting.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Moves the items of the slots reached by the current tick down a level, starting at the given level.
+     */
+    private void cascade(int level) {
+        while (level < LEVELS && (currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+            int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            Timeout<T> head = wheels.get(level).get(slot);
+            Timeout<T> first = head.next;
+            head.detachAll();
+            for (Timeout<T> timeout = first; timeout != head; ) {
+                Timeout<T> next = timeout.next;
+                timeout.prev = null;
+                timeout.next = null;
+                place(timeout);
+                timeout = next;
+            }
+            level++;
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        long delta = timeout.deadlineTick - currentTick;
+        long placedTick = delta > SPAN ? currentTick + SPAN : timeout.deadlineTick;
+        delta = placedTick - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        int slot = (int) ((placedTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        wheels.get(level).get(slot).linkBefore(timeout);
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+
+    /**
+     * An item waiting in the wheel.
+     * @param <T> The type of the item.
+     */
+    public static class Timeout<T> {
+        private final T item;
+        private final long deadlineTick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        private static <T> Timeout<T> sentinel() {
+            Timeout<T> sentinel = new Timeout<>(null, 0);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            return sentinel;
+        }
+
+        /**
+         * Returns the item.
+         * @return The item.
+         */
+        public T getItem() {
+            return item;
+        }
+
+        private boolean isLinked() {
+            return next != null;
+        }
+
+        /** Links a timeout before this sentinel, at the end of its list. */
+        private void linkBefore(Timeout<T> timeout) {
+            timeout.prev = prev;
+            timeout.next = this;
+            prev.next = timeout;
+            prev = timeout;
+        }
+
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+        }
+
+        /** Empties this sentinel's list, leaving the old timeouts linked to each other. */
+        private void detachAll() {
+            prev.next = this;
+            next.prev = this;
+            prev = this;
+            next = this;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package duke.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import duke.CommandResult;
+import duke.Duke;
+import duke.DukeException;
+import duke.Ui;
+
+/**
+ * A server sharing one Duke task list between many clients over a plain socket line protocol.
+ *
+ * <p>Every line sent by a client is a Duke command. Every response is sent back as its lines,
+ * followed by a line holding a single ".". Response lines starting with "." are sent with an
+ * extra leading "." (dot-stuffing), so the terminator is never ambiguous.</p>
+ *
+ * <p>Duke serializes the commands changing the shared task list on its single writer thread,
+ * while read-only commands from different clients run concurrently.</p>
+ */
+public class DukeServer {
+
+    /** The default port to listen on */
+    public static final int DEFAULT_PORT = 4444;
+
+    /** The line ending a response */
+    public static final String TERMINATOR = ".";
+
+    /** The shared Duke app */
+    private final Duke duke;
+
+    /** The port to listen on */
+    private final int port;
+
+    /** Runs one task per connection */
+    private final ExecutorService executor;
+
+    /**
+     * Constructor for DukeServer.
+     * @param duke The Duke app to be shared by all clients.
+     * @param port The port to listen on.
+     */
+    public DukeServer(Duke duke, int port) {
+        assert duke != null : "[duke.server.DukeServer.DukeServer]: duke parameter should not be null.";
+
+        this.duke = duke;
+        this.port = port;
+        this.executor = newPerConnectionExecutor();
+    }
+
+    /**
+     * Entry point of the Duke server.
+     * @param args Command line arguments, optionally the port to listen on.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        Duke duke;
+        try {
+            duke = Duke.load("./data", "duke.txt", progress -> { });
+        } catch (DukeException | RuntimeException e) {
+            // Nothing is saved over a file Duke cannot read.
+            System.out.println(Ui.getLoadFailedMessage(e instanceof DukeException ? e.getMessage() : e.toString()));
+            return;
+        }
+        // The server is stopped by a signal, so the queued commands are drained and the snapshot saved on exit.
+        Runtime.getRuntime().addShutdownHook(new Thread(duke::shutdown, "duke-shutdown"));
+        new DukeServer(duke, port).serve();
+    }
+
+    /**
+     * Accepts connections until the server socket is closed.
+     * @throws IOException When the server socket cannot be opened.
+     */
+    public void serve() throws IOException {
+        try (ServerSocket serverSocket = new ServerSocket(port)) {
+            System.out.println("Borat is listening on port " + serverSocket.getLocalPort());
+            while (!serverSocket.isClosed()) {
+                Socket socket = serverSocket.accept();
+                executor.execute(() -> handle(socket));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Serves a client until it says bye or disconnects.
+     * @param socket The client connection.
+     */
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(
+                     new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            String input;
+            while ((input = in.readLine()) != null) {
+                CommandResult result = duke.getResult(input);
+                writeResponse(out, Ui.render(result));
+                if (!in.ready()) {
+                    out.flush();
+                }
+                if (result.isExit()) {
+                    break;
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            System.out.println("Connection lost: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a dot-stuffed response followed by the terminator line.
+     * @param out The client connection.
+     * @param response Duke's response.
+     * @throws IOException When the client connection fails.
+     */
+    private static void writeResponse(Writer out, String response) throws IOException {
+        int start = 0;
+        int length = response.length();
+        while (start <= length) {
+            int end = response.indexOf('\n', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start && response.charAt(start) == '.') {
+                out.write('.');
+            }
+            out.write(response, start, end - start);
+            out.write('\n');
+            start = end + 1;
+        }
+        out.write(TERMINATOR);
+        out.write('\n');
+    }
+
+    /**
+     * Returns a virtual-thread-per-task executor when the runtime supports it,
+     * and a thread-per-connection executor otherwise.
+     * @return An executor running every connection on its own thread.
+     */
+    private static ExecutorService newPerConnectionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package duke.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A local load-test client measuring the requests per second served by a DukeServer.
+ */
+public class LoadTestClient {
+
+    /**
+     * Entry point of the load-test client.
+     * Arguments: [host] [port] [clients] [requests per client] [command...].
+     * The default command is `dates`, which does not modify the shared task list.
+     * @param args Command line arguments.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : DukeServer.DEFAULT_PORT;
+        int clients = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        int requests = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+        String command = args.length > 4 ? String.join(" ", List.of(args).subList(4, args.length)) : "dates";
+
+        AtomicLong completed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < clients; ++i) {
+            Thread thread = new Thread(() -> {
+                try {
+                    completed.addAndGet(run(host, port, requests, command));
+                } catch (IOException e) {
+                    failed.incrementAndGet();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d clients x %d requests of `%s`%n", clients, requests, command);
+        System.out.printf("%d completed, %d clients failed, %.2f s, %.0f requests/s%n",
+                completed.get(), failed.get(), seconds, completed.get() / seconds);
+    }
+
+    /**
+     * Sends a command repeatedly over one connection, waiting for each response.
+     * @param host The server host.
+     * @param port The server port.
+     * @param requests The number of requests to send.
+     * @param command The command to send.
+     * @return The number of responses received.
+     * @throws IOException When the connection fails.
+     */
+    private static long run(String host, int port, int requests, String command) throws IOException {
+        long received = 0;
+        try (Socket socket = new Socket(host, port);
+             BufferedReader in = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            socket.setTcpNoDelay(true);
+            for (int i = 0; i < requests; ++i) {
+                out.write(command);
+                out.write('\n');
+                out.flush();
+                String line;
+                while ((line = in.readLine()) != null && !line.equals(DukeServer.TERMINATOR)) {
+                    // Skip the response body.
+                }
+                if (line == null) {
+                    break;
+                }
+                ++received;
+            }
+        }
+        return received;
+    }
+}
@@ -0,0 +1,45 @@
+package duke.stats;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JFR event around executing one command, including the storage commits it causes.
+ */
+@Name("duke.CommandExecute")
+@Label("Command Execute")
+@Category({"Duke"})
+public class CommandExecuteEvent extends Event {
+
+    @Label("Command Type")
+    private String commandType;
+
+    @Label("Mutating")
+    private boolean isMutating;
+
+    @Label("Success")
+    private boolean isSuccess;
+
+    @Label("Task Count")
+    @Description("The number of tasks in the list after the command, 0 if the command does not use the list")
+    private int taskCount;
+
+    public void setCommandType(String commandType) {
+        this.commandType = commandType;
+    }
+
+    public void setMutating(boolean isMutating) {
+        this.isMutating = isMutating;
+    }
+
+    public void setSuccess(boolean isSuccess) {
+        this.isSuccess = isSuccess;
+    }
+
+    public void setTaskCount(int taskCount) {
+        this.taskCount = taskCount;
+    }
+}
@@ -0,0 +1,29 @@
+package duke.stats;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JFR event around parsing one user input into a command.
+ */
+@Name("duke.CommandParse")
+@Label("Command Parse")
+@Category({"Duke"})
+public class CommandParseEvent extends Event {
+
+    @Label("Command Type")
+    private String commandType;
+
+    @Label("Input Length")
+    private int inputLength;
+
+    public void setCommandType(String commandType) {
+        this.commandType = commandType;
+    }
+
+    public void setInputLength(int inputLength) {
+        this.inputLength = inputLength;
+    }
+}
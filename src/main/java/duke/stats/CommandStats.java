@@ -0,0 +1,124 @@
+package duke.stats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The statistics of one command type.
+ * Persisting happens while executing, so the execute latency includes the persist latency.
+ */
+public class CommandStats implements CommandStatsMBean {
+
+    private final String name;
+    private final LatencyHistogram parse = new LatencyHistogram();
+    private final LatencyHistogram execute = new LatencyHistogram();
+    private final LatencyHistogram persist = new LatencyHistogram();
+    private final LongAdder bytesWritten = new LongAdder();
+
+    /**
+     * Constructor for CommandStats.
+     * @param name The name of the command type.
+     */
+    CommandStats(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    void recordParse(long nanos) {
+        parse.record(nanos);
+    }
+
+    void recordExecute(long nanos) {
+        execute.record(nanos);
+    }
+
+    void recordPersist(long nanos, long bytes) {
+        persist.record(nanos);
+        bytesWritten.add(bytes);
+    }
+
+    @Override
+    public long getCount() {
+        return Math.max(parse.getCount(), execute.getCount());
+    }
+
+    @Override
+    public long getParseMeanMicros() {
+        return parse.getMean() / 1000;
+    }
+
+    @Override
+    public long getParseP99Micros() {
+        return parse.getPercentile(99) / 1000;
+    }
+
+    @Override
+    public long getExecuteMeanMicros() {
+        return execute.getMean() / 1000;
+    }
+
+    @Override
+    public long getExecuteP50Micros() {
+        return execute.getPercentile(50) / 1000;
+    }
+
+    @Override
+    public long getExecuteP99Micros() {
+        return execute.getPercentile(99) / 1000;
+    }
+
+    @Override
+    public long getExecuteMaxMicros() {
+        return execute.getMax() / 1000;
+    }
+
+    @Override
+    public long getPersistCount() {
+        return persist.getCount();
+    }
+
+    @Override
+    public long getPersistMeanMicros() {
+        return persist.getMean() / 1000;
+    }
+
+    @Override
+    public long getPersistP99Micros() {
+        return persist.getPercentile(99) / 1000;
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    /**
+     * Returns a one-line summary of the command type.
+     * @return A one-line summary of the command type.
+     */
+    @Override
+    public String toString() {
+        StringBuilder str = new StringBuilder();
+        str.append(name).append(": ").append(getCount()).append(" runs")
+                .append(" | parse p50 ").append(micros(parse.getPercentile(50)))
+                .append(" p99 ").append(micros(parse.getPercentile(99)));
+        if (execute.getCount() > 0) {
+            str.append(" | execute p50 ").append(micros(execute.getPercentile(50)))
+                    .append(" p99 ").append(micros(execute.getPercentile(99)));
+        }
+        if (persist.getCount() > 0) {
+            str.append(" | persist p50 ").append(micros(persist.getPercentile(50)))
+                    .append(" p99 ").append(micros(persist.getPercentile(99)))
+                    .append(" | ").append(bytesWritten.sum()).append(" bytes");
+        }
+        return str.toString();
+    }
+
+    static String micros(long nanos) {
+        return nanos < 10_000
+                ? String.format("%.1fus", nanos / 1000.0)
+                : (nanos / 1000) + "us";
+    }
+}
@@ -0,0 +1,29 @@
+package duke.stats;
+
+/**
+ * The JMX view of the statistics of one command type.
+ */
+public interface CommandStatsMBean {
+
+    long getCount();
+
+    long getParseMeanMicros();
+
+    long getParseP99Micros();
+
+    long getExecuteMeanMicros();
+
+    long getExecuteP50Micros();
+
+    long getExecuteP99Micros();
+
+    long getExecuteMaxMicros();
+
+    long getPersistCount();
+
+    long getPersistMeanMicros();
+
+    long getPersistP99Micros();
+
+    long getBytesWritten();
+}
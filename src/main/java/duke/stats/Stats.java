@@ -0,0 +1,238 @@
+package duke.stats;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+import javax.management.JMException;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import duke.command.Command;
+
+/**
+ * Instrumentation of Duke: per command type latencies of parsing, executing and persisting,
+ * bytes written per commit and the number of tasks.
+ *
+ * <p>Stats are off unless the `duke.stats` system property is true or the `stats on` command is used.
+ * When off, every hook costs a single volatile read. When on, the stats are also exposed as JMX MBeans
+ * under the `duke` domain.</p>
+ */
+public class Stats {
+
+    /** The name of the stats of inputs that failed to parse */
+    public static final String INVALID = "invalid";
+
+    private static volatile boolean isEnabled = false;
+
+    private static final ConcurrentHashMap<String, CommandStats> COMMANDS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<CommandStats> CURRENT = new ThreadLocal<>();
+    private static final LatencyHistogram COMMITS = new LatencyHistogram();
+    private static final LongAdder BYTES_WRITTEN = new LongAdder();
+    private static final Overall OVERALL = new Overall();
+
+    private static volatile IntSupplier taskCounter = () -> 0;
+
+    static {
+        if (Boolean.getBoolean("duke.stats")) {
+            setEnabled(true);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * Turns the stats on or off. Recorded stats are kept when turned off.
+     * @param enabled True to turn the stats on.
+     */
+    public static synchronized void setEnabled(boolean enabled) {
+        if (enabled && !isEnabled) {
+            try {
+                register("duke:type=Stats", new StandardMBean(OVERALL, StatsMBean.class));
+            } catch (NotCompliantMBeanException e) {
+                throw new AssertionError(e);
+            }
+            for (CommandStats stats : COMMANDS.values()) {
+                register(objectNameOf(stats), stats);
+            }
+        }
+        isEnabled = enabled;
+    }
+
+    /**
+     * Sets where the number of tasks is read from when the stats are reported.
+     * @param counter The supplier of the number of tasks.
+     */
+    public static void setTaskCounter(IntSupplier counter) {
+        assert counter != null : "[duke.stats.Stats.setTaskCounter]: counter parameter should not be null.";
+        taskCounter = counter;
+    }
+
+    /**
+     * Returns the stats of a command type, or null when the stats are off.
+     * @param command The command.
+     * @return The stats of the command type, or null when the stats are off.
+     */
+    public static CommandStats of(Command command) {
+        return isEnabled ? get(nameOf(command.getClass())) : null;
+    }
+
+    /**
+     * Records the time spent parsing an input.
+     * @param command The parsed command, or null if the input was invalid.
+     * @param nanos The time spent parsing.
+     */
+    public static void recordParse(Command command, long nanos) {
+        if (isEnabled) {
+            get(command == null ? INVALID : nameOf(command.getClass())).recordParse(nanos);
+        }
+    }
+
+    /**
+     * Marks the start of executing a command on the current thread.
+     * Commits on this thread are attributed to the command until endExecute is called.
+     * @param stats The stats of the command type, from Stats.of.
+     * @return The start time.
+     */
+    public static long beginExecute(CommandStats stats) {
+        CURRENT.set(stats);
+        return System.nanoTime();
+    }
+
+    /**
+     * Marks the end of executing a command on the current thread.
+     * @param stats The stats of the command type, from Stats.of.
+     * @param start The start time from beginExecute.
+     */
+    public static void endExecute(CommandStats stats, long start) {
+        stats.recordExecute(System.nanoTime() - start);
+        CURRENT.remove();
+    }
+
+    /**
+     * Records a commit of the saved file.
+     * @param nanos The time spent writing.
+     * @param bytes The number of bytes written.
+     */
+    public static void recordCommit(long nanos, long bytes) {
+        if (!isEnabled) {
+            return;
+        }
+        COMMITS.record(nanos);
+        BYTES_WRITTEN.add(bytes);
+        CommandStats current = CURRENT.get();
+        if (current != null) {
+            current.recordPersist(nanos, bytes);
+        }
+    }
+
+    /**
+     * Returns a report of all the stats.
+     * @return A report of all the stats.
+     */
+    public static String report() {
+        StringBuilder str = new StringBuilder();
+        str.append("Stats are ").append(isEnabled ? "on" : "off (do `stats on`)").append(".\n");
+        str.append(taskCounter.getAsInt()).append(" tasks | ")
+                .append(COMMITS.getCount()).append(" commits | ")
+                .append(BYTES_WRITTEN.sum()).append(" bytes written");
+        if (COMMITS.getCount() > 0) {
+            str.append(" | commit p50 ").append(CommandStats.micros(COMMITS.getPercentile(50)))
+                    .append(" p99 ").append(CommandStats.micros(COMMITS.getPercentile(99)));
+        }
+        List<CommandStats> commands = new ArrayList<>(COMMANDS.values());
+        commands.sort((a, b) -> a.getName().compareTo(b.getName()));
+        for (CommandStats stats : commands) {
+            str.append("\n").append(stats.toString());
+        }
+        return str.toString();
+    }
+
+    private static CommandStats get(String name) {
+        CommandStats stats = COMMANDS.get(name);
+        if (stats == null) {
+            stats = COMMANDS.computeIfAbsent(name, CommandStats::new);
+            register(objectNameOf(stats), stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Returns the name of a command type, such as "todo" for a TodoCommand.
+     * @param command The command, or null for an invalid input.
+     * @return The name of the command type.
+     */
+    public static String nameOf(Command command) {
+        return command == null ? INVALID : nameOf(command.getClass());
+    }
+
+    private static String nameOf(Class<?> commandClass) {
+        String name = commandClass.getSimpleName();
+        if (name.endsWith("Command")) {
+            name = name.substring(0, name.length() - "Command".length());
+        }
+        return name.toLowerCase();
+    }
+
+    private static String objectNameOf(CommandStats stats) {
+        return "duke:type=CommandStats,name=" + stats.getName();
+    }
+
+    private static void register(String name, Object mbean) {
+        try {
+            ObjectName objectName = new ObjectName(name);
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(objectName)) {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(mbean, objectName);
+            }
+        } catch (JMException e) {
+            // JMX is only a view of the stats, which are still reported by the `stats` command.
+        }
+    }
+
+    /**
+     * The JMX view of the overall stats.
+     */
+    private static class Overall implements StatsMBean {
+
+        @Override
+        public boolean isEnabled() {
+            return Stats.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean isEnabled) {
+            Stats.setEnabled(isEnabled);
+        }
+
+        @Override
+        public int getTaskCount() {
+            return taskCounter.getAsInt();
+        }
+
+        @Override
+        public long getCommits() {
+            return COMMITS.getCount();
+        }
+
+        @Override
+        public long getBytesWritten() {
+            return BYTES_WRITTEN.sum();
+        }
+
+        @Override
+        public long getCommitMeanMicros() {
+            return COMMITS.getMean() / 1000;
+        }
+
+        @Override
+        public long getCommitP99Micros() {
+            return COMMITS.getPercentile(99) / 1000;
+        }
+    }
+}
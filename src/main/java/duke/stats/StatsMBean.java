@@ -0,0 +1,21 @@
+package duke.stats;
+
+/**
+ * The JMX view of the overall Duke statistics.
+ */
+public interface StatsMBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean isEnabled);
+
+    int getTaskCount();
+
+    long getCommits();
+
+    long getBytesWritten();
+
+    long getCommitMeanMicros();
+
+    long getCommitP99Micros();
+}
@@ -0,0 +1,38 @@
+package duke.stats;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JFR event around rewriting the saved file.
+ */
+@Name("duke.StorageCommit")
+@Label("Storage Commit")
+@Category({"Duke"})
+public class StorageCommitEvent extends Event {
+
+    @Label("Path")
+    private String path;
+
+    @Label("Task Count")
+    private int taskCount;
+
+    @Label("Bytes Written")
+    @DataAmount
+    private long bytes;
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public void setTaskCount(int taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+}
@@ -0,0 +1,61 @@
+package duke.workload;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line arguments of the form key=value.
+ */
+class Arguments {
+
+    /** The directory the tools read and write by default, away from the saved tasks in ./data */
+    static final String DEFAULT_DIRECTORY = "build/workload";
+
+    private final Map<String, String> values = new HashMap<>();
+
+    /**
+     * Constructor for Arguments.
+     * @param args The command line arguments, each of the form key=value.
+     */
+    Arguments(String[] args) {
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            if (split < 0) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            values.put(arg.substring(0, split), arg.substring(split + 1));
+        }
+    }
+
+    String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    int getInt(String key, int defaultValue) {
+        return values.containsKey(key) ? Integer.parseInt(values.get(key)) : defaultValue;
+    }
+
+    long getLong(String key, long defaultValue) {
+        return values.containsKey(key) ? Long.parseLong(values.get(key)) : defaultValue;
+    }
+
+    double getDouble(String key, double defaultValue) {
+        return values.containsKey(key) ? Double.parseDouble(values.get(key)) : defaultValue;
+    }
+
+    /**
+     * Returns a weighted mix of the form name:weight,name:weight.
+     * @param key The argument key.
+     * @param defaultValue The mix used when the argument is missing.
+     * @return The weights by name, in the given order.
+     */
+    Map<String, Integer> getMix(String key, String defaultValue) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : get(key, defaultValue).split(",")) {
+            String[] nameAndWeight = entry.split(":");
+            mix.put(nameAndWeight[0], Integer.parseInt(nameAndWeight[1]));
+        }
+        return mix;
+    }
+}
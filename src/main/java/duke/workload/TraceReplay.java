@@ -0,0 +1,138 @@
+package duke.workload;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import duke.Duke;
+import duke.stats.LatencyHistogram;
+
+/**
+ * Replays a command trace against Duke and reports the throughput and latency percentiles.
+ *
+ * <p>Usage:</p>
+ * <pre>
+ * TraceReplay trace=build/workload/trace.txt dir=build/workload file=duke.txt warmup=1000
+ * </pre>
+ * <p>Every command goes through Duke.getResponse, as in the CLI and GUI, so the latency includes
+ * parsing, executing, persisting and rendering. The first `warmup` commands are run but not measured.
+ * The trace changes and saves the tasks it runs on, so it runs on the ones WorkloadGenerator writes to
+ * build/workload unless `dir` is given, and never on the saved tasks in ./data.</p>
+ */
+public class TraceReplay {
+
+    private final Duke duke;
+    private final LatencyHistogram overall = new LatencyHistogram();
+    private final Map<String, LatencyHistogram> byCommand = new TreeMap<>();
+    private long measuredNanos;
+
+    /**
+     * Constructor for TraceReplay.
+     * @param duke The Duke app to replay the trace against.
+     */
+    public TraceReplay(Duke duke) {
+        this.duke = duke;
+    }
+
+    /**
+     * Entry point of the replay driver.
+     * @param args key=value options.
+     * @throws IOException When the trace cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        Arguments arguments = new Arguments(args);
+        List<String> trace = readTrace(arguments.get("trace", Arguments.DEFAULT_DIRECTORY + "/trace.txt"));
+        long start = System.nanoTime();
+        Duke duke = new Duke(arguments.get("dir", Arguments.DEFAULT_DIRECTORY), arguments.get("file", "duke.txt"));
+        System.out.printf("Started in %.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+        TraceReplay replay = new TraceReplay(duke);
+        replay.replay(trace, arguments.getInt("warmup", 0));
+        System.out.println(replay.report());
+    }
+
+    /**
+     * Returns the commands of a trace file.
+     * @param path The trace file.
+     * @return The commands, one per line.
+     * @throws IOException When the trace cannot be read.
+     */
+    public static List<String> readTrace(String path) throws IOException {
+        List<String> trace = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                trace.add(line);
+            }
+        }
+        return trace;
+    }
+
+    /**
+     * Runs every command of a trace, measuring all but the first few.
+     * @param trace The commands.
+     * @param warmup The number of commands run before measuring.
+     */
+    public void replay(List<String> trace, int warmup) {
+        long start = 0;
+        int size = trace.size();
+        for (int i = 0; i < size; ++i) {
+            if (i == warmup) {
+                start = System.nanoTime();
+            }
+            String input = trace.get(i);
+            long commandStart = System.nanoTime();
+            duke.getResponse(input);
+            long nanos = System.nanoTime() - commandStart;
+            if (i >= warmup) {
+                overall.record(nanos);
+                byCommand.computeIfAbsent(commandOf(input), name -> new LatencyHistogram()).record(nanos);
+            }
+        }
+        measuredNanos = size > warmup ? System.nanoTime() - start : 0;
+    }
+
+    /**
+     * Returns the throughput and the latency percentiles, overall and per command.
+     * @return A report of the replay.
+     */
+    public String report() {
+        StringBuilder str = new StringBuilder();
+        double seconds = measuredNanos / 1e9;
+        str.append(String.format("%d commands in %.2f s: %.0f commands/s%n",
+                overall.getCount(), seconds, seconds == 0 ? 0 : overall.getCount() / seconds));
+        str.append(String.format("%-10s %10s %10s %10s %10s %10s %10s%n",
+                "command", "count", "mean(us)", "p50(us)", "p90(us)", "p99(us)", "max(us)"));
+        str.append(line("all", overall));
+        for (Map.Entry<String, LatencyHistogram> entry : byCommand.entrySet()) {
+            str.append(line(entry.getKey(), entry.getValue()));
+        }
+        return str.toString();
+    }
+
+    public LatencyHistogram getOverall() {
+        return overall;
+    }
+
+    public Map<String, LatencyHistogram> getByCommand() {
+        return byCommand;
+    }
+
+    private static String line(String name, LatencyHistogram histogram) {
+        return String.format("%-10s %10d %10.1f %10.1f %10.1f %10.1f %10.1f%n", name, histogram.getCount(),
+                histogram.getMean() / 1e3, histogram.getPercentile(50) / 1e3, histogram.getPercentile(90) / 1e3,
+                histogram.getPercentile(99) / 1e3, histogram.getMax() / 1e3);
+    }
+
+    private static String commandOf(String input) {
+        String trimmed = input.trim();
+        int space = trimmed.indexOf(' ');
+        return (space < 0 ? trimmed : trimmed.substring(0, space)).toLowerCase();
+    }
+}
@@ -0,0 +1,222 @@
+package duke.workload;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates synthetic saved files and command traces.
+ *
+ * <p>Usage:</p>
+ * <pre>
+ * WorkloadGenerator tasks out=build/workload/duke.txt n=100000 mix=T:1,D:1,E:1 done=0.25 length=24:10 seed=1
+ * WorkloadGenerator trace out=build/workload/trace.txt n=100000 initial=100000
+ *         mix=todo:30,deadline:10,event:10,done:20,delete:10,find:15,list:5 length=24:10 seed=1
+ * </pre>
+ * <p>Description lengths follow a normal distribution given as mean:stddev characters.
+ * Trace indices of `done` and `delete` are always valid for a list that starts with `initial` tasks.
+ * The files go to build/workload unless `out` is given, so the saved tasks in ./data are never overwritten.</p>
+ */
+public class WorkloadGenerator {
+
+    private static final String[] WORDS = {
+        "read", "book", "return", "project", "meeting", "report", "submit", "call", "mum", "buy",
+        "groceries", "write", "email", "review", "code", "lecture", "tutorial", "quiz", "gym", "dinner",
+        "zadanie", "spotkanie", "raport", "zakupy", "książka", "żółw", "pociąg", "Łódź", "Kraków", "cześć"
+    };
+    private static final LocalDateTime START = LocalDateTime.of(2021, 1, 1, 0, 0);
+    private static final DateTimeFormatter SAVED_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+    private static final DateTimeFormatter INPUT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final Random random;
+    private final double lengthMean;
+    private final double lengthStddev;
+
+    /**
+     * Constructor for WorkloadGenerator.
+     * @param seed The random seed.
+     * @param lengthMean The mean description length in characters.
+     * @param lengthStddev The standard deviation of the description length.
+     */
+    public WorkloadGenerator(long seed, double lengthMean, double lengthStddev) {
+        this.random = new Random(seed);
+        this.lengthMean = lengthMean;
+        this.lengthStddev = lengthStddev;
+    }
+
+    /**
+     * Entry point of the generator.
+     * @param args `tasks` or `trace`, followed by key=value options.
+     * @throws IOException When the output cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || !(args[0].equals("tasks") || args[0].equals("trace"))) {
+            System.out.println("Usage: WorkloadGenerator tasks|trace [key=value...]");
+            return;
+        }
+        String[] options = new String[args.length - 1];
+        System.arraycopy(args, 1, options, 0, options.length);
+        Arguments arguments = new Arguments(options);
+        String[] length = arguments.get("length", "24:10").split(":");
+        WorkloadGenerator generator = new WorkloadGenerator(arguments.getLong("seed", 1),
+                Double.parseDouble(length[0]), Double.parseDouble(length[1]));
+        int n = arguments.getInt("n", 10000);
+
+        if (args[0].equals("tasks")) {
+            Path out = Paths.get(arguments.get("out", Arguments.DEFAULT_DIRECTORY + "/duke.txt"));
+            generator.writeTasks(out, n, arguments.getMix("mix", "T:1,D:1,E:1"),
+                    arguments.getDouble("done", 0.25));
+            System.out.println("Wrote " + n + " tasks to " + out);
+        } else {
+            Path out = Paths.get(arguments.get("out", Arguments.DEFAULT_DIRECTORY + "/trace.txt"));
+            generator.writeTrace(out, n, arguments.getInt("initial", 0),
+                    arguments.getMix("mix", "todo:30,deadline:10,event:10,done:20,delete:10,find:15,list:5"));
+            System.out.println("Wrote " + n + " commands to " + out);
+        }
+    }
+
+    /**
+     * Writes a saved file of random tasks.
+     * @param out The saved file to be written.
+     * @param n The number of tasks.
+     * @param mix The weights of the task types T, D and E.
+     * @param doneRatio The fraction of tasks which are done.
+     * @throws IOException When the file cannot be written.
+     */
+    public void writeTasks(Path out, int n, Map<String, Integer> mix, double doneRatio) throws IOException {
+        createParent(out);
+        try (BufferedWriter writer = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < n; ++i) {
+                writer.write(nextSavedLine(pick(mix), doneRatio));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Writes a trace of random commands, one per line.
+     * @param out The trace file to be written.
+     * @param n The number of commands.
+     * @param initialSize The number of tasks in the list the trace will be replayed on.
+     * @param mix The weights of the commands.
+     * @throws IOException When the file cannot be written.
+     */
+    public void writeTrace(Path out, int n, int initialSize, Map<String, Integer> mix) throws IOException {
+        createParent(out);
+        int size = initialSize;
+        try (BufferedWriter writer = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < n; ++i) {
+                String command = pick(mix);
+                if (size == 0 && (command.equals("done") || command.equals("delete"))) {
+                    // Nothing to change yet, so add a task instead.
+                    command = "todo";
+                }
+                writer.write(nextCommand(command, size));
+                writer.newLine();
+                if (command.equals("todo") || command.equals("deadline") || command.equals("event")) {
+                    ++size;
+                } else if (command.equals("delete")) {
+                    --size;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a random line of the saved file.
+     * @param type The task type: T, D or E.
+     * @param doneRatio The probability of the task being done.
+     * @return A line of the saved file.
+     */
+    public String nextSavedLine(String type, double doneRatio) {
+        String done = random.nextDouble() < doneRatio ? "1" : "0";
+        switch (type) {
+        case "T":
+            return "T | " + done + " | " + nextDescription();
+        case "D":
+            return "D | " + done + " | " + nextDescription() + " | " + nextDate().format(SAVED_FORMAT);
+        case "E":
+            return "E | " + done + " | " + nextDescription() + " | " + nextDate().format(SAVED_FORMAT);
+        default:
+            throw new IllegalArgumentException("Unknown task type: " + type);
+        }
+    }
+
+    /**
+     * Returns a random user input of the given command.
+     * @param command The command name.
+     * @param size The number of tasks in the list before the command.
+     * @return A user input.
+     */
+    public String nextCommand(String command, int size) {
+        switch (command) {
+        case "todo":
+            return "todo " + nextDescription();
+        case "deadline":
+            return "deadline " + nextDescription() + " /by " + nextDate().format(INPUT_FORMAT);
+        case "event":
+            return "event " + nextDescription() + " /at " + nextDate().format(INPUT_FORMAT);
+        case "done":
+        case "delete":
+            return command + " " + (random.nextInt(size) + 1);
+        case "find":
+            return "find " + WORDS[random.nextInt(WORDS.length)];
+        default:
+            return command;
+        }
+    }
+
+    /**
+     * Returns a random description made of words, with a normally distributed length.
+     * @return A random description.
+     */
+    public String nextDescription() {
+        int length = (int) Math.max(1, Math.round(lengthMean + random.nextGaussian() * lengthStddev));
+        StringBuilder description = new StringBuilder(length + 16);
+        while (description.length() < length) {
+            if (description.length() > 0) {
+                description.append(' ');
+            }
+            description.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return description.toString();
+    }
+
+    /**
+     * Returns a random name from a weighted mix.
+     * @param mix The weights by name.
+     * @return A random name.
+     */
+    public String pick(Map<String, Integer> mix) {
+        int total = 0;
+        for (int weight : mix.values()) {
+            total += weight;
+        }
+        int choice = random.nextInt(total);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            choice -= entry.getValue();
+            if (choice < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalArgumentException("The mix has no positive weight");
+    }
+
+    private LocalDateTime nextDate() {
+        return START.plusMinutes(random.nextInt(2 * 365 * 24 * 60));
+    }
+
+    private static void createParent(Path out) throws IOException {
+        Path parent = out.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+    }
+}
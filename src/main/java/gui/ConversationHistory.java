@@ -0,0 +1,167 @@
+package gui;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * An append-only file holding the conversation, so the GUI only needs to keep the recent messages in memory.
+ *
+ * <p>Each message is stored as its byte length, a sender byte, the UTF-8 text and the byte length again.
+ * The trailing length lets older messages be paged in backwards from any message, without an index.</p>
+ *
+ * <p>Messages are appended by one thread while another may read the ones already appended.</p>
+ */
+public class ConversationHistory implements Closeable {
+
+    /** The length and sender byte before the text */
+    private static final int HEADER_SIZE = Integer.BYTES + 1;
+
+    /** The bytes a message takes in the file besides its text */
+    private static final int RECORD_OVERHEAD = HEADER_SIZE + Integer.BYTES;
+
+    private static final byte FROM_USER = 0;
+    private static final byte FROM_DUKE = 1;
+
+    private final FileChannel channel;
+
+    /**
+     * Opens the history file, creating it if needed.
+     * @param path The path of the history file.
+     * @throws IOException When the file cannot be opened.
+     */
+    public ConversationHistory(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Appends a message to the history.
+     * @param message The message to be stored.
+     * @return A copy of the message that knows its place in the file.
+     * @throws IOException When the message cannot be written.
+     */
+    public synchronized Message append(Message message) throws IOException {
+        assert !message.isPending() : "[gui.ConversationHistory.append]: pending messages should not be stored.";
+
+        byte[] text = message.getText().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer record = ByteBuffer.allocate(RECORD_OVERHEAD + text.length);
+        record.putInt(text.length).put(message.isFromDuke() ? FROM_DUKE : FROM_USER).put(text).putInt(text.length);
+        record.flip();
+        long offset = channel.size();
+        while (record.hasRemaining()) {
+            channel.write(record, offset + record.position());
+        }
+        return message.withHistoryOffset(offset);
+    }
+
+    /**
+     * Returns the offset just after a stored message, where the next message starts.
+     * @param message A message stored in the history.
+     * @return The offset just after the message.
+     * @throws IOException When the file cannot be read.
+     */
+    public long getEndOf(Message message) throws IOException {
+        assert message.isInHistory() : "[gui.ConversationHistory.getEndOf]: message should be in the history.";
+        return message.getHistoryOffset() + RECORD_OVERHEAD + readInt(message.getHistoryOffset());
+    }
+
+    /**
+     * Returns the offset where the next message will be appended.
+     * @return The size of the history file.
+     * @throws IOException When the file cannot be read.
+     */
+    public long getEnd() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * Returns up to count messages stored just before an offset, oldest first.
+     * @param offset Where a message starts, or the end of the history.
+     * @param count The most messages to be returned.
+     * @return The messages before the offset.
+     * @throws IOException When the file cannot be read.
+     */
+    public List<Message> readBefore(long offset, int count) throws IOException {
+        Deque<Message> messages = new ArrayDeque<>();
+        long end = offset;
+        while (messages.size() < count && end >= RECORD_OVERHEAD) {
+            int length = readInt(end - Integer.BYTES);
+            long start = end - RECORD_OVERHEAD - length;
+            if (length < 0 || start < 0) {
+                // A damaged record, nothing older can be found.
+                break;
+            }
+            messages.addFirst(readMessage(start));
+            end = start;
+        }
+        return new ArrayList<>(messages);
+    }
+
+    /**
+     * Returns up to count messages stored after a message, oldest first.
+     * @param message A message stored in the history.
+     * @param count The most messages to be returned.
+     * @param limit The offset to stop reading at.
+     * @return The messages after the given one.
+     * @throws IOException When the file cannot be read.
+     */
+    public List<Message> readAfter(Message message, int count, long limit) throws IOException {
+        List<Message> messages = new ArrayList<>();
+        long start = getEndOf(message);
+        while (messages.size() < count && start < limit) {
+            Message next = readMessage(start);
+            messages.add(next);
+            start = getEndOf(next);
+        }
+        return messages;
+    }
+
+    /**
+     * Closes the history file.
+     * @throws IOException When the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private Message readMessage(long start) throws IOException {
+        ByteBuffer header = read(start, HEADER_SIZE);
+        int length = header.getInt();
+        byte sender = header.get();
+        if (length < 0) {
+            throw new IOException("The conversation history has a damaged message");
+        }
+        String text = StandardCharsets.UTF_8.decode(read(start + HEADER_SIZE, length)).toString();
+        Message message = sender == FROM_DUKE ? Message.fromDuke(text) : Message.fromUser(text);
+        return message.withHistoryOffset(start);
+    }
+
+    private int readInt(long position) throws IOException {
+        return read(position, Integer.BYTES).getInt();
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("The conversation history ends in the middle of a message");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -1,56 +1,73 @@
 package gui;
 
-import java.io.IOException;
-import java.util.Collections;
-
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.geometry.Pos;
-import javafx.scene.Node;
+import javafx.css.PseudoClass;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
 
 
 /**
- * The dialog box for Duke and user
+ * The dialog box for Duke and user.
+ * The boxes are built in code and styled by the shared classes in /view/DialogBox.css,
+ * as loading an FXML file for every message costs far more than the message itself.
  */
 public class DialogBox extends HBox {
-    @FXML
-    private Label dialog;
-    @FXML
-    private ImageView displayPicture;
 
-    private DialogBox(String text, Image img) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
+    /** The width and height of the display picture */
+    private static final double PICTURE_SIZE = 99.0;
+
+    /** Marks a bubble standing in for a response that is still being worked out */
+    private static final PseudoClass PENDING = PseudoClass.getPseudoClass("pending");
+
+    /** The narrowest a message bubble gets */
+    private static final double MIN_DIALOG_WIDTH = 200.0;
+
+    private final Label dialog;
+
+    private final ImageView displayPicture;
+
+    private DialogBox(String text, Image img, boolean isDuke) {
+        dialog = new Label(text);
+        dialog.setWrapText(true);
+        dialog.setMinWidth(MIN_DIALOG_WIDTH);
+        dialog.setMinHeight(Region.USE_PREF_SIZE);
+        dialog.setMaxHeight(Double.MAX_VALUE);
+        dialog.getStyleClass().add("dialog-text");
+
+        displayPicture = new ImageView(img);
+        displayPicture.setFitWidth(PICTURE_SIZE);
+        displayPicture.setFitHeight(PICTURE_SIZE);
+        displayPicture.setPreserveRatio(true);
+        displayPicture.setPickOnBounds(true);
+
+        setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+        getStyleClass().add("dialog-box");
+        if (isDuke) {
+            // Duke's picture is on the left and the text on the right.
+            getStyleClass().add("duke-dialog");
+            getChildren().addAll(displayPicture, dialog);
+        } else {
+            getStyleClass().add("user-dialog");
+            getChildren().addAll(dialog, displayPicture);
         }
+    }
 
+    /**
+     * Replaces the text of the dialog box, so it can be reused for another message.
+     * @param text The new message.
+     */
+    public void setText(String text) {
         dialog.setText(text);
-        displayPicture.setImage(img);
     }
 
     /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
+     * Shows or hides the pending look of the dialog box.
+     * @param isPending True if the box stands in for a response that is still being worked out.
      */
-    private void flip() {
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        Collections.reverse(tmp);
-        getChildren().setAll(tmp);
-        dialog.setStyle("-fx-background-color: #FEFBF3; "
-                + "-fx-background-radius: 20; "
-                + "-fx-padding: 20; "
-                + "-fx-font-size: 16;"
-        );
-        setAlignment(Pos.TOP_LEFT);
+    public void setPending(boolean isPending) {
+        pseudoClassStateChanged(PENDING, isPending);
     }
 
     /**
@@ -60,7 +77,7 @@ public class DialogBox extends HBox {
      * @return Dialogbox for the user.
      */
     public static DialogBox getUserDialog(String text, Image img) {
-        return new DialogBox(text, img);
+        return new DialogBox(text, img, false);
     }
 
     /**
@@ -70,8 +87,6 @@ public class DialogBox extends HBox {
      * @return Dialogbox for Duke.
      */
     public static DialogBox getDukeDialog(String text, Image img) {
-        var db = new DialogBox(text, img);
-        db.flip();
-        return db;
+        return new DialogBox(text, img, true);
     }
 }
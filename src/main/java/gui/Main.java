@@ -2,7 +2,6 @@ package gui;
 
 import java.io.IOException;
 
-import duke.Duke;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
@@ -15,7 +14,7 @@ import javafx.stage.Stage;
  */
 public class Main extends Application {
 
-    private Duke duke = new Duke("./data", "duke.txt");
+    private MainWindow mainWindow;
 
     /**
      * Entry point for the GUI.
@@ -30,10 +29,22 @@ public class Main extends Application {
             stage.setScene(scene);
             stage.setTitle("Borat Sagdiyev Bot");
             stage.getIcons().add(new Image("/images/DaDuke.png"));
-            fxmlLoader.<MainWindow>getController().setDuke(duke);
+            mainWindow = fxmlLoader.getController();
             stage.show();
+            // Show the window first, the saved data may take a while to load.
+            mainWindow.load("./data", "duke.txt");
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Finishes the submitted commands and saves a snapshot of the tasks when the window is closed.
+     */
+    @Override
+    public void stop() {
+        if (mainWindow != null) {
+            mainWindow.shutdown();
+        }
+    }
 }
@@ -1,30 +1,90 @@
 package gui;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import duke.Completer;
 import duke.Duke;
+import duke.DukeException;
 import duke.Ui;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
+import javafx.geometry.Orientation;
+import javafx.geometry.Side;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.ListView;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.ScrollBar;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 
 /**
  * Controller for MainWindow. Provides the layout for the other controls.
  */
 public class MainWindow extends AnchorPane {
+
+    /** How long closing the window waits for the submitted commands */
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    /** The most messages kept in memory, set with -Dduke.scrollback */
+    private static final int SCROLLBACK = Integer.getInteger("duke.scrollback", 200);
+
+    /** The messages paged in from the history file at a time */
+    private static final int PAGE_SIZE = 50;
+
+    /** The most completions offered at a time */
+    private static final int COMPLETION_LIMIT = 8;
+
+    /** The conversation history file, next to the saved tasks */
+    private static final String HISTORY_FILE = "history.dat";
+
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<Message> conversationView;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
+    @FXML
+    private ProgressBar loadProgress;
+    @FXML
+    private TaskPanel taskPanel;
 
+    /** Set on the command thread once the saved data is loaded */
     private Duke duke;
 
+    /** Set on the command thread if the saved data could not be loaded, the reply to every command then */
+    private String loadError;
+
+    /** The recent messages of the conversation, only the visible ones have a cell */
+    private Scrollback scrollback;
+
+    /** The vertical scroll bar of the conversation view, once it has been looked up */
+    private ScrollBar scrollBar;
+
+    /** Completes the input, following the task list once Duke is loaded */
+    private final Completer completer = new Completer();
+
+    /** The completions offered for the current input */
+    private final ContextMenu completions = new ContextMenu();
+
+    /** Runs the commands off the FX thread, one at a time and in the order they were sent */
+    private final ExecutorService commandRunner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "duke-gui-commands");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/DaUser.png"));
     private Image dukeImage = new Image(this.getClass().getResourceAsStream("/images/DaDuke.png"));
 
@@ -33,35 +93,259 @@ public class MainWindow extends AnchorPane {
      */
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        conversationView.setFocusTraversable(false);
+        conversationView.setCellFactory(listView -> new MessageCell(listView, userImage, dukeImage));
+        conversationView.addEventFilter(ScrollEvent.SCROLL, event -> {
+            // Scrolling up while there is nothing to scroll still pages in older messages.
+            if (event.getDeltaY() > 0 && isScrolledToTop()) {
+                pageBack();
+            }
+        });
+        userInput.textProperty().addListener((observable, oldText, newText) -> offerCompletions(newText));
+        userInput.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+            if (event.getCode() == KeyCode.TAB && completions.isShowing() && !completions.getItems().isEmpty()) {
+                completions.getItems().get(0).fire();
+                event.consume();
+            }
+        });
     }
 
     /**
-     * Sets Duke.
-     * @param d Duke.
+     * Loads Duke in the background, showing the progress over the conversation.
+     * The input is accepted at once, and commands sent before the load is done wait behind it.
+     * @param directory Relative path to directory of the saved data.
+     * @param file Name of the saved data file.
      */
-    public void setDuke(Duke d) {
-        duke = d;
-        String greetings = Ui.getGreetingMessage();
-        dialogContainer.getChildren().addAll(
-                DialogBox.getDukeDialog(greetings, dukeImage)
-        );
+    public void load(String directory, String file) {
+        scrollback = openScrollback(directory);
+        conversationView.setItems(scrollback.getWindow());
+
+        Message greeting = Message.fromDuke(Ui.getGreetingMessage());
+        showMessages(greeting);
+        loadProgress.setVisible(true);
+        // The view has its skin once the window is shown, so the scroll bar can be watched.
+        Platform.runLater(this::getScrollBar);
+        commandRunner.execute(() -> {
+            List<Message> written = scrollback.write(greeting);
+            Platform.runLater(() -> settleMessages(List.of(greeting), written));
+            try {
+                duke = Duke.load(directory, file,
+                    progress -> Platform.runLater(() -> loadProgress.setProgress(progress)));
+            } catch (DukeException | RuntimeException e) {
+                // A saved file Duke cannot read; the input is disabled so nothing is saved over the file.
+                loadError = Ui.getLoadFailedMessage(e instanceof DukeException ? e.getMessage() : e.toString());
+                Platform.runLater(() -> {
+                    loadProgress.setVisible(false);
+                    userInput.setDisable(true);
+                    sendButton.setDisable(true);
+                    showDukeMessage(loadError);
+                });
+                return;
+            }
+            duke.addTaskListener(taskPanel);
+            duke.addTaskListener(completer);
+            duke.startReminders(text -> Platform.runLater(() -> showDukeMessage(text)));
+            Platform.runLater(() -> loadProgress.setVisible(false));
+        });
     }
 
     /**
      * Handles user input.
+     * The command runs in the background while a pending bubble holds its place in the conversation,
+     * so slow commands do not freeze the window and the responses keep the order of the inputs.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
-        String response = duke.getResponse(input);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getDukeDialog(response, dukeImage)
-        );
+        Message request = Message.fromUser(input);
+        Message pending = Message.pending();
+        showMessages(request, pending);
         userInput.clear();
-        if (!duke.isRunning()) {
-            System.exit(0);
+        completions.hide();
+
+        commandRunner.execute(() -> {
+            // The commands sent before the load failed still run, and only get the error.
+            String response = duke == null ? loadError : duke.getResponse(input);
+            boolean isExit = duke != null && !duke.isRunning();
+            List<Message> written = scrollback.write(request, Message.fromDuke(response));
+            if (isExit) {
+                // System.exit skips Main.stop, so this is the only shutdown on bye.
+                duke.shutdown();
+                closeScrollback();
+            }
+            Platform.runLater(() -> {
+                settleMessages(List.of(request, pending), written);
+                if (isExit) {
+                    System.exit(0);
+                }
+            });
+        });
+    }
+
+    /**
+     * Shows a message Duke sends on its own, such as a reminder, stored in the history after the commands
+     * already sent.
+     * @param text The text of the message.
+     */
+    private void showDukeMessage(String text) {
+        Message message = Message.fromDuke(text);
+        showMessages(message);
+        commandRunner.execute(() -> {
+            List<Message> written = scrollback.write(message);
+            Platform.runLater(() -> settleMessages(List.of(message), written));
+        });
+    }
+
+    /**
+     * Waits for the submitted commands, then shuts Duke down if it was loaded and closes the history file.
+     */
+    public void shutdown() {
+        commandRunner.shutdown();
+        try {
+            commandRunner.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (duke != null) {
+            duke.shutdown();
+        }
+        closeScrollback();
+    }
+
+    private void closeScrollback() {
+        if (scrollback != null) {
+            try {
+                scrollback.close();
+            } catch (IOException e) {
+                // The messages are already written, closing has nothing left to save.
+            }
+        }
+    }
+
+    /**
+     * Shows the completions of the input above the text field, Tab takes the first one.
+     * @param input The input typed so far.
+     */
+    private void offerCompletions(String input) {
+        List<String> matches = completer.complete(input, COMPLETION_LIMIT);
+        if (matches.isEmpty() || (matches.size() == 1 && matches.get(0).equals(input))) {
+            completions.hide();
+            return;
+        }
+        completions.getItems().clear();
+        for (String match : matches) {
+            MenuItem item = new MenuItem(match);
+            item.setMnemonicParsing(false);
+            item.setOnAction(event -> {
+                userInput.setText(match);
+                userInput.positionCaret(match.length());
+            });
+            completions.getItems().add(item);
+        }
+        if (!completions.isShowing()) {
+            completions.show(userInput, Side.TOP, 0, 0);
+        }
+    }
+
+    /**
+     * Returns the scrollback of the conversation, backed by a history file in the data directory.
+     * @param directory Relative path to directory of the saved data.
+     * @return The scrollback, which only keeps the window in memory if the history file cannot be opened.
+     */
+    private static Scrollback openScrollback(String directory) {
+        try {
+            return new Scrollback(new ConversationHistory(Paths.get(directory, HISTORY_FILE)), SCROLLBACK, PAGE_SIZE);
+        } catch (IOException e) {
+            try {
+                return new Scrollback(null, SCROLLBACK, PAGE_SIZE);
+            } catch (IOException impossible) {
+                throw new AssertionError(impossible);
+            }
+        }
+    }
+
+    /**
+     * Shows new messages at the end of the conversation and scrolls to the newest one.
+     * @param messages The messages to be shown.
+     */
+    private void showMessages(Message... messages) {
+        try {
+            scrollback.show(messages);
+        } catch (IOException e) {
+            // The older messages cannot be read back, the new ones are still shown.
+        }
+        conversationView.scrollTo(scrollback.getWindow().size() - 1);
+    }
+
+    /**
+     * Replaces shown messages with their final versions from the command thread.
+     * @param shown The messages shown while waiting.
+     * @param written The final messages.
+     */
+    private void settleMessages(List<Message> shown, List<Message> written) {
+        try {
+            scrollback.settle(shown, written);
+        } catch (IOException e) {
+            // The history cannot be read, the window stays as it is.
+        }
+    }
+
+    /**
+     * Pages in older messages, keeping the top visible message in place.
+     */
+    private void pageBack() {
+        try {
+            int added = scrollback.pageBack();
+            if (added > 0) {
+                conversationView.scrollTo(added);
+            }
+        } catch (IOException e) {
+            // Nothing older can be read.
+        }
+    }
+
+    /**
+     * Pages in newer messages once the view is scrolled to the bottom.
+     */
+    private void pageForward() {
+        try {
+            int last = scrollback.getWindow().size() - 1;
+            int dropped = scrollback.pageForward();
+            conversationView.scrollTo(Math.max(0, last - dropped));
+        } catch (IOException e) {
+            // Nothing newer can be read.
+        }
+    }
+
+    /**
+     * Returns true if the conversation view shows its first message.
+     * @return True if the view cannot be scrolled further up.
+     */
+    private boolean isScrolledToTop() {
+        ScrollBar bar = getScrollBar();
+        return bar == null || !bar.isVisible() || bar.getValue() <= bar.getMin();
+    }
+
+    /**
+     * Returns the vertical scroll bar of the conversation view, paging messages in when it reaches an end.
+     * @return The vertical scroll bar, or null before the view has a skin.
+     */
+    private ScrollBar getScrollBar() {
+        if (scrollBar != null) {
+            return scrollBar;
+        }
+        for (Node node : conversationView.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar && ((ScrollBar) node).getOrientation() == Orientation.VERTICAL) {
+                scrollBar = (ScrollBar) node;
+                scrollBar.valueProperty().addListener((observable, oldValue, newValue) -> {
+                    if (newValue.doubleValue() <= scrollBar.getMin()) {
+                        pageBack();
+                    } else if (newValue.doubleValue() >= scrollBar.getMax() && !scrollback.isAtTail()) {
+                        pageForward();
+                    }
+                });
+            }
         }
+        return scrollBar;
     }
 }
@@ -0,0 +1,109 @@
+package gui;
+
+/**
+ * A message in the conversation, shown by a MessageCell.
+ */
+public class Message {
+
+    /** The text of a pending response */
+    private static final String PENDING_TEXT = "...";
+
+    /** The text of the message */
+    private final String text;
+
+    /** True if Duke sent the message, false if the user did */
+    private final boolean isFromDuke;
+
+    /** True if the message stands in for a response that is still being worked out */
+    private final boolean isPending;
+
+    /** Where the message starts in the conversation history file, or -1 if it is not there */
+    private final long historyOffset;
+
+    private Message(String text, boolean isFromDuke, boolean isPending, long historyOffset) {
+        assert text != null : "[gui.Message.Message]: text parameter should not be null.";
+        this.text = text;
+        this.isFromDuke = isFromDuke;
+        this.isPending = isPending;
+        this.historyOffset = historyOffset;
+    }
+
+    private Message(String text, boolean isFromDuke, boolean isPending) {
+        this(text, isFromDuke, isPending, -1);
+    }
+
+    /**
+     * Returns a message sent by the user.
+     * @param text The user input.
+     * @return A message sent by the user.
+     */
+    public static Message fromUser(String text) {
+        return new Message(text, false, false);
+    }
+
+    /**
+     * Returns a message sent by Duke.
+     * @param text Duke's response.
+     * @return A message sent by Duke.
+     */
+    public static Message fromDuke(String text) {
+        return new Message(text, true, false);
+    }
+
+    /**
+     * Returns a placeholder for a Duke response that is still being worked out.
+     * @return A pending message from Duke.
+     */
+    public static Message pending() {
+        return new Message(PENDING_TEXT, true, true);
+    }
+
+    /**
+     * Returns the text of the message.
+     * @return The text of the message.
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Returns true if Duke sent the message.
+     * @return True if Duke sent the message, false if the user did.
+     */
+    public boolean isFromDuke() {
+        return isFromDuke;
+    }
+
+    /**
+     * Returns true if the message stands in for a response that is still being worked out.
+     * @return True if the message is pending.
+     */
+    public boolean isPending() {
+        return isPending;
+    }
+
+    /**
+     * Returns a copy of the message stored in the conversation history file.
+     * @param historyOffset Where the message starts in the file.
+     * @return A copy of the message that knows its place in the file.
+     */
+    public Message withHistoryOffset(long historyOffset) {
+        return new Message(text, isFromDuke, isPending, historyOffset);
+    }
+
+    /**
+     * Returns true if the message is stored in the conversation history file.
+     * @return True if the message is stored in the conversation history file.
+     */
+    public boolean isInHistory() {
+        return historyOffset >= 0;
+    }
+
+    /**
+     * Returns where the message starts in the conversation history file.
+     * @return The offset of the message in the file, or -1 if it is not there.
+     */
+    public long getHistoryOffset() {
+        return historyOffset;
+    }
+}
@@ -0,0 +1,56 @@
+package gui;
+
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.image.Image;
+
+/**
+ * A recycled cell of the conversation view.
+ * The ListView only creates cells for the visible messages, and each cell keeps one dialog box
+ * per sender that is refilled with the message it currently shows.
+ */
+public class MessageCell extends ListCell<Message> {
+
+    /** Room left for the vertical scroll bar */
+    private static final double SCROLL_BAR_WIDTH = 20;
+
+    private final DialogBox userDialog;
+    private final DialogBox dukeDialog;
+
+    /**
+     * Constructor for MessageCell.
+     * @param listView The conversation view the cell belongs to.
+     * @param userImage The user image.
+     * @param dukeImage Duke's image.
+     */
+    public MessageCell(ListView<Message> listView, Image userImage, Image dukeImage) {
+        userDialog = DialogBox.getUserDialog("", userImage);
+        dukeDialog = DialogBox.getDukeDialog("", dukeImage);
+        userDialog.prefWidthProperty().bind(listView.widthProperty().subtract(SCROLL_BAR_WIDTH));
+        dukeDialog.prefWidthProperty().bind(listView.widthProperty().subtract(SCROLL_BAR_WIDTH));
+
+        // Keep the cell as wide as the view, so long messages wrap instead of scrolling sideways.
+        setPrefWidth(0);
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        getStyleClass().add("message-cell");
+    }
+
+    /**
+     * Shows a message in the cell, or nothing for an empty cell.
+     * @param message The message to be shown.
+     * @param isEmpty True if the cell has no message.
+     */
+    @Override
+    protected void updateItem(Message message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+        DialogBox dialogBox = message.isFromDuke() ? dukeDialog : userDialog;
+        dialogBox.setText(message.getText());
+        dialogBox.setPending(message.isPending());
+        setGraphic(dialogBox);
+    }
+}
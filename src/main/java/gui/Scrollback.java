@@ -0,0 +1,205 @@
+package gui;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * The window of the conversation kept in memory, backed by the conversation history file.
+ *
+ * <p>A message is stored in the history once it is final: the greeting at once, and a user input together
+ * with its response once the response is known. As the commands run in order, the messages not stored yet
+ * are always the newest ones, the unwritten tail.</p>
+ *
+ * <p>The window shows a run of stored messages, followed by the unwritten tail when it reaches the newest
+ * stored message. It holds at most the capacity of stored messages, and older or newer messages are paged
+ * in from the history as the user scrolls. Only {@link #write(Message...)} may be called off the FX
+ * thread.</p>
+ */
+public class Scrollback {
+
+    /** The messages in memory, shown by the conversation view */
+    private final ObservableList<Message> window = FXCollections.observableArrayList();
+
+    /** The newest messages, shown but not stored in the history yet */
+    private final List<Message> unwritten = new ArrayList<>();
+
+    /** The most stored messages kept in memory, the unwritten tail comes on top */
+    private final int capacity;
+
+    /** The messages paged in at a time */
+    private final int pageSize;
+
+    /** The history file, or null when it could not be opened and old messages are dropped */
+    private final ConversationHistory history;
+
+    /** True if the window ends with the newest messages */
+    private boolean isAtTail = true;
+
+    /** The end of the newest message settled into the window, later messages may still be on their way */
+    private long settledEnd;
+
+    /**
+     * Constructor for Scrollback.
+     * @param history The history file, or null to drop the messages leaving the window.
+     * @param capacity The most stored messages kept in memory, besides the unwritten tail.
+     * @param pageSize The messages paged in at a time.
+     * @throws IOException When the history file cannot be read.
+     */
+    public Scrollback(ConversationHistory history, int capacity, int pageSize) throws IOException {
+        assert capacity > 0 : "[gui.Scrollback.Scrollback]: capacity should be positive.";
+        assert pageSize > 0 : "[gui.Scrollback.Scrollback]: pageSize should be positive.";
+
+        this.history = history;
+        this.capacity = capacity;
+        this.pageSize = pageSize;
+        this.settledEnd = history == null ? 0 : history.getEnd();
+    }
+
+    /**
+     * Returns the messages in memory, in the order they are shown.
+     * @return The messages in memory.
+     */
+    public ObservableList<Message> getWindow() {
+        return window;
+    }
+
+    /**
+     * Returns true if the window ends with the newest messages.
+     * @return True if the window ends with the newest messages.
+     */
+    public boolean isAtTail() {
+        return isAtTail;
+    }
+
+    /**
+     * Shows new messages that are not final yet, jumping back to the newest messages if needed.
+     * @param messages The new messages.
+     * @throws IOException When the history file cannot be read.
+     */
+    public void show(Message... messages) throws IOException {
+        if (!isAtTail) {
+            window.setAll(readBefore(settledEnd, capacity));
+            window.addAll(unwritten);
+            isAtTail = true;
+        }
+        unwritten.addAll(Arrays.asList(messages));
+        window.addAll(messages);
+        trimOldest();
+    }
+
+    /**
+     * Closes the history file, once no more messages are written. Later reads find nothing older or newer.
+     * @throws IOException When the history file cannot be closed.
+     */
+    public void close() throws IOException {
+        if (history != null) {
+            history.close();
+        }
+    }
+
+    /**
+     * Stores final messages in the history. Called on the command thread, in the order of the commands.
+     * @param messages The final messages.
+     * @return The messages as stored, or as given if there is no history file.
+     */
+    public List<Message> write(Message... messages) {
+        List<Message> written = new ArrayList<>(messages.length);
+        for (Message message : messages) {
+            try {
+                written.add(history == null ? message : history.append(message));
+            } catch (IOException e) {
+                written.add(message);
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Replaces the oldest unwritten messages with their stored versions.
+     * @param shown The messages given to {@link #show(Message...)}, which must be the oldest unwritten ones.
+     * @param written The stored messages taking their place.
+     * @throws IOException When the history file cannot be read.
+     */
+    public void settle(List<Message> shown, List<Message> written) throws IOException {
+        assert unwritten.size() >= shown.size() : "[gui.Scrollback.settle]: shown messages should be unwritten.";
+
+        int tailStart = window.size() - unwritten.size();
+        unwritten.subList(0, shown.size()).clear();
+        if (isAtTail) {
+            window.remove(tailStart, tailStart + shown.size());
+            window.addAll(tailStart, written);
+        }
+        Message newest = written.get(written.size() - 1);
+        if (newest.isInHistory()) {
+            settledEnd = history.getEndOf(newest);
+        }
+        trimOldest();
+    }
+
+    /**
+     * Pages in older messages before the window, dropping the newest ones if the window is full.
+     * @return The number of messages paged in.
+     * @throws IOException When the history file cannot be read.
+     */
+    public int pageBack() throws IOException {
+        if (window.isEmpty() || !window.get(0).isInHistory()) {
+            return 0;
+        }
+        List<Message> page = readBefore(window.get(0).getHistoryOffset(), pageSize);
+        window.addAll(0, page);
+
+        if (isAtTail && window.size() - unwritten.size() > capacity) {
+            window.remove(window.size() - unwritten.size(), window.size());
+            isAtTail = false;
+        }
+        int excess = window.size() - capacity;
+        if (!isAtTail && excess > 0) {
+            window.remove(window.size() - excess, window.size());
+        }
+        return page.size();
+    }
+
+    /**
+     * Pages in newer messages after the window, dropping the oldest ones if the window is full.
+     * @return The number of messages dropped from the start of the window.
+     * @throws IOException When the history file cannot be read.
+     */
+    public int pageForward() throws IOException {
+        if (isAtTail) {
+            return 0;
+        }
+        Message newest = window.get(window.size() - 1);
+        List<Message> page = newest.isInHistory()
+                ? history.readAfter(newest, pageSize, settledEnd)
+                : new ArrayList<>();
+        window.addAll(page);
+        if (page.size() < pageSize) {
+            window.addAll(unwritten);
+            isAtTail = true;
+        }
+        return trimOldest();
+    }
+
+    /**
+     * Drops the oldest stored messages beyond the capacity.
+     * @return The number of messages dropped.
+     */
+    private int trimOldest() {
+        int stored = window.size() - (isAtTail ? unwritten.size() : 0);
+        int excess = stored - capacity;
+        if (excess <= 0) {
+            return 0;
+        }
+        window.remove(0, excess);
+        return excess;
+    }
+
+    private List<Message> readBefore(long offset, int count) throws IOException {
+        return history == null ? new ArrayList<>() : history.readBefore(offset, count);
+    }
+}
@@ -0,0 +1,97 @@
+package gui;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import duke.Task;
+import duke.TaskChange;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.ObservableList;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+
+/**
+ * A side panel showing the current tasks.
+ * The panel listens to the changes of the task list and applies each one to its rows, so the list is
+ * never rendered again as a whole. The table only creates cells for the visible rows.
+ */
+public class TaskPanel extends TableView<Task> implements Consumer<TaskChange> {
+
+    private static final double INDEX_WIDTH = 50;
+
+    /** The changes waiting to be applied on the FX thread */
+    private final Queue<TaskChange> changes = new ConcurrentLinkedQueue<>();
+
+    /** True while a drain of the changes is scheduled on the FX thread */
+    private final AtomicBoolean isDrainScheduled = new AtomicBoolean();
+
+    /**
+     * Constructor for TaskPanel.
+     */
+    public TaskPanel() {
+        TableColumn<Task, Task> indexColumn = new TableColumn<>("#");
+        indexColumn.setCellValueFactory(row -> new ReadOnlyObjectWrapper<>(row.getValue()));
+        indexColumn.setCellFactory(column -> new TableCell<>() {
+            @Override
+            protected void updateItem(Task task, boolean isEmpty) {
+                super.updateItem(task, isEmpty);
+                setText(isEmpty || task == null ? null : String.valueOf(getIndex() + 1));
+            }
+        });
+        indexColumn.setPrefWidth(INDEX_WIDTH);
+        indexColumn.setSortable(false);
+
+        TableColumn<Task, String> taskColumn = new TableColumn<>("Task");
+        taskColumn.setCellValueFactory(row -> new ReadOnlyObjectWrapper<>(row.getValue().toString()));
+        taskColumn.setSortable(false);
+
+        getColumns().add(indexColumn);
+        getColumns().add(taskColumn);
+        setColumnResizePolicy(CONSTRAINED_RESIZE_POLICY);
+        setPlaceholder(new Label("No tasks yet"));
+    }
+
+    /**
+     * Queues a change of the task list, applied on the FX thread together with the changes queued with it.
+     * @param change The change to the task list.
+     */
+    @Override
+    public void accept(TaskChange change) {
+        changes.add(change);
+        if (isDrainScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::applyChanges);
+        }
+    }
+
+    /**
+     * Applies the queued changes to the rows, in order.
+     */
+    private void applyChanges() {
+        isDrainScheduled.set(false);
+        ObservableList<Task> rows = getItems();
+        TaskChange change;
+        while ((change = changes.poll()) != null) {
+            switch (change.getType()) {
+            case LOADED:
+                rows.setAll(change.getTasks());
+                break;
+            case ADDED:
+                rows.add(change.getIndex(), change.getTask());
+                break;
+            case DONE:
+                rows.set(change.getIndex(), change.getTask());
+                break;
+            case REMOVED:
+                rows.remove(change.getIndex());
+                break;
+            default:
+                assert false : "[gui.TaskPanel.applyChanges]: unknown change type.";
+            }
+        }
+    }
+}
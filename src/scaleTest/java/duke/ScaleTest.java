@@ -0,0 +1,265 @@
+package duke;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import duke.stats.LatencyHistogram;
+import duke.workload.WorkloadGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ScaleTest {
+
+    private static final String FILE = "duke.txt";
+
+    /** How the dates of deadlines and events are displayed, and searched */
+    private static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("MMM d yyyy HH:mm");
+    private static final Properties BUDGETS = loadBudgets();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void scale10kTest() throws IOException {
+        runScale(10_000);
+    }
+
+    @Test
+    public void scale100kTest() throws IOException {
+        runScale(100_000);
+    }
+
+    @Test
+    public void scale1mTest() throws IOException {
+        runScale(1_000_000);
+    }
+
+    /**
+     * Replays mixed commands against a list of the given size, checking every result against a reference
+     * model of the saved file, and fails when the startup time or a percentile of the command latency is over
+     * budget.
+     */
+    private void runScale(int size) throws IOException {
+        long seed = Long.parseLong(budget("seed"));
+        int commands = Integer.parseInt(budget(size + ".commands"));
+        long startupBudget = Long.parseLong(budget(size + ".startup.ms"));
+        int percentile = Integer.parseInt(budget(size + ".percentile"));
+        long latencyBudget = Long.parseLong(budget(size + ".p" + percentile + ".ms"));
+
+        WorkloadGenerator generator = new WorkloadGenerator(seed, 24, 10);
+        Map<String, Integer> taskMix = new LinkedHashMap<>();
+        taskMix.put("T", 1);
+        taskMix.put("D", 1);
+        taskMix.put("E", 1);
+        Path file = directory.resolve(FILE);
+        generator.writeTasks(file, size, taskMix, 0.25);
+        List<String> model = new ArrayList<>(Files.readAllLines(file, StandardCharsets.UTF_8));
+        List<String> keys = new ArrayList<>(model.size());
+        for (String line : model) {
+            keys.add(searchKeyOf(line));
+        }
+
+        long start = System.nanoTime();
+        Duke duke = new Duke(directory.toString(), FILE);
+        long startupMillis = (System.nanoTime() - start) / 1_000_000;
+
+        Map<String, Integer> mix = parseMix(budget("mix"));
+        LatencyHistogram overall = new LatencyHistogram();
+        Map<String, LatencyHistogram> byCommand = new TreeMap<>();
+        for (int i = 0; i < commands; ++i) {
+            String command = pick(generator, mix, model.size());
+            String input = generator.nextCommand(command, model.size());
+            if (command.equals("find")) {
+                input = respell(input, i);
+            }
+
+            long commandStart = System.nanoTime();
+            CommandResult result = duke.getResult(input);
+            Ui.render(result);
+            long nanos = System.nanoTime() - commandStart;
+
+            overall.record(nanos);
+            byCommand.computeIfAbsent(command, name -> new LatencyHistogram()).record(nanos);
+            checkAndUpdate(model, keys, command, input, result);
+        }
+        assertEquals(model, Files.readAllLines(file, StandardCharsets.UTF_8), "Saved file differs from the model");
+
+        System.out.printf("%d tasks: startup %d ms, %d commands, p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                size, startupMillis, commands, overall.getPercentile(50) / 1e6, overall.getPercentile(90) / 1e6,
+                overall.getPercentile(99) / 1e6, overall.getMax() / 1e6);
+        for (Map.Entry<String, LatencyHistogram> entry : byCommand.entrySet()) {
+            System.out.printf("  %-8s p50 %.2f ms, p99 %.2f ms%n", entry.getKey(),
+                    entry.getValue().getPercentile(50) / 1e6, entry.getValue().getPercentile(99) / 1e6);
+        }
+        assertTrue(startupMillis <= startupBudget,
+                "Startup took " + startupMillis + " ms, over the budget of " + startupBudget + " ms");
+        double latencyMillis = overall.getPercentile(percentile) / 1e6;
+        assertTrue(latencyMillis <= latencyBudget, "p" + percentile + " latency is " + latencyMillis
+                + " ms, over the budget of " + latencyBudget + " ms");
+    }
+
+    /**
+     * Checks a command result against the model of the saved file and the search keys of its lines, then applies
+     * the command to both. The model is built from the saved lines alone, so it does not share the parsing or the
+     * folding of Duke.
+     */
+    private static void checkAndUpdate(List<String> model, List<String> keys, String command, String input,
+            CommandResult result) {
+        assertTrue(result.isSuccess(), () -> input + " failed: " + result.getErrorMessage());
+        switch (command) {
+        case "todo":
+            model.add("T | 0 | " + input.substring("todo ".length()));
+            keys.add(searchKeyOf(model.get(model.size() - 1)));
+            assertAffected(model, model.size() - 1, result);
+            break;
+        case "deadline":
+            model.add(savedDated("D", input.substring("deadline ".length()), " /by "));
+            keys.add(searchKeyOf(model.get(model.size() - 1)));
+            assertAffected(model, model.size() - 1, result);
+            break;
+        case "event":
+            model.add(savedDated("E", input.substring("event ".length()), " /at "));
+            keys.add(searchKeyOf(model.get(model.size() - 1)));
+            assertAffected(model, model.size() - 1, result);
+            break;
+        case "done":
+            int doneIndex = Integer.parseInt(input.substring("done ".length())) - 1;
+            String line = model.get(doneIndex);
+            model.set(doneIndex, line.substring(0, 4) + "1" + line.substring(5));
+            assertAffected(model, doneIndex, result);
+            break;
+        case "delete":
+            int deleteIndex = Integer.parseInt(input.substring("delete ".length())) - 1;
+            String removed = model.remove(deleteIndex);
+            keys.remove(deleteIndex);
+            assertEquals(removed, result.getTasks().get(0).savedToString(), input);
+            assertEquals(model.size(), result.getListSize(), input);
+            break;
+        case "find":
+            String key = referenceFold(input.substring("find ".length()));
+            int[] ids = result.getTaskIds();
+            for (int i = 0; i < ids.length; ++i) {
+                assertTrue(keys.get(ids[i] - 1).contains(key), input);
+                assertEquals(model.get(ids[i] - 1), result.getTasks().get(i).savedToString(), input);
+            }
+            int matching = 0;
+            for (String modelKey : keys) {
+                matching += modelKey.contains(key) ? 1 : 0;
+            }
+            assertEquals(matching, ids.length, input);
+            break;
+        case "list":
+            List<Task> listed = result.getTasks();
+            assertEquals(model.size(), listed.size(), input);
+            int index = 0;
+            for (Task task : listed) {
+                assertEquals(model.get(index++), task.savedToString(), input);
+            }
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown command in the mix: " + command);
+        }
+    }
+
+    private static void assertAffected(List<String> model, int index, CommandResult result) {
+        assertEquals(model.get(index), result.getTasks().get(0).savedToString());
+        assertEquals(index + 1, result.getTaskIds()[0]);
+        assertEquals(model.size(), result.getListSize());
+    }
+
+    /**
+     * Returns a find with its keyword in turn as generated, folded by the reference and upper-cased, so the matches
+     * of Duke are checked against spellings its own folding did not produce.
+     */
+    private static String respell(String input, int turn) {
+        String keyword = input.substring("find ".length());
+        switch (turn % 3) {
+        case 0:
+            return "find " + referenceFold(keyword);
+        case 1:
+            return "find " + keyword.toUpperCase(Locale.ROOT);
+        default:
+            return input;
+        }
+    }
+
+    /**
+     * Returns the text find searches in a saved line, the description and any dates as displayed, folded.
+     */
+    private static String searchKeyOf(String savedLine) {
+        String[] fields = savedLine.split(" \\| ");
+        StringBuilder text = new StringBuilder(fields[2]);
+        if (fields.length > 3) {
+            text.append(' ').append(LocalDateTime.parse(fields[3]).format(DISPLAY_FORMAT));
+        }
+        if (fields.length > 4) {
+            text.append(" to ").append(LocalDateTime.parse(fields[4]).format(DISPLAY_FORMAT));
+        }
+        return referenceFold(text.toString());
+    }
+
+    /**
+     * Folds case and accents out of a text, the reference for the folding of Duke: NFKD without the combining
+     * marks, lower-cased, with the Polish "ł", which has no decomposition, as "l".
+     */
+    private static String referenceFold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (char c : decomposed.toCharArray()) {
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                folded.append(c);
+            }
+        }
+        return folded.toString().toLowerCase(Locale.ROOT).replace('\u0142', 'l');
+    }
+
+    private static String savedDated(String type, String arguments, String separator) {
+        String[] parts = arguments.split(separator);
+        return type + " | 0 | " + parts[0] + " | " + parts[1].replace(' ', 'T');
+    }
+
+    private static String pick(WorkloadGenerator generator, Map<String, Integer> mix, int size) {
+        String command = generator.pick(mix);
+        return size == 0 && (command.equals("done") || command.equals("delete")) ? "todo" : command;
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] nameAndWeight = entry.split(":");
+            weights.put(nameAndWeight[0], Integer.parseInt(nameAndWeight[1]));
+        }
+        return weights;
+    }
+
+    private static String budget(String key) {
+        return System.getProperty("scale." + key, BUDGETS.getProperty(key));
+    }
+
+    private static Properties loadBudgets() {
+        Properties budgets = new Properties();
+        try (InputStream in = ScaleTest.class.getResourceAsStream("/scale-budgets.properties")) {
+            budgets.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read scale-budgets.properties", e);
+        }
+        return budgets;
+    }
+}
@@ -0,0 +1,40 @@
+package duke;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CompleterTest {
+    @Test
+    public void completeCommandTest() {
+        Completer completer = new Completer();
+        assertEquals(List.of("deadline", "delete"), completer.complete("de", 8));
+        assertEquals(List.of("deadline"), completer.complete("de", 1));
+        assertEquals(List.of(), completer.complete("xyz", 8));
+    }
+
+    @Test
+    public void completeDescriptionFollowsChangesTest() {
+        Completer completer = new Completer();
+        Task book = new Todo("read book");
+        completer.accept(TaskChange.loaded(List.of(book, new Todo("return book"), new Todo("read book"))));
+        assertEquals(List.of("find read book", "find return book"), completer.complete("find re", 8));
+
+        completer.accept(TaskChange.removed(0, book));
+        assertEquals(List.of("find read book"), completer.complete("find rea", 8));
+        completer.accept(TaskChange.removed(1, book));
+        assertEquals(List.of(), completer.complete("find rea", 8));
+    }
+
+    @Test
+    public void completeDescriptionIgnoresCaseAndAccentsTest() {
+        Completer completer = new Completer();
+        // "Book club" and "Żółw"
+        completer.accept(TaskChange.loaded(List.of(new Todo("Book club"), new Todo("\u017b\u00f3\u0142w"))));
+        assertEquals(List.of("find Book club"), completer.complete("find bo", 8));
+        assertEquals(List.of("find \u017b\u00f3\u0142w"), completer.complete("find zo", 8));
+        assertEquals(List.of("find \u017b\u00f3\u0142w"), completer.complete("find \u017c\u00f3", 8));
+    }
+}
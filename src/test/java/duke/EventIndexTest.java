@@ -0,0 +1,70 @@
+package duke;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EventIndexTest {
+    private static final LocalDateTime START = LocalDateTime.parse("2021-08-21T09:00");
+
+    @Test
+    public void overlappingMatchesPairwiseScanTest() {
+        Random random = new Random(46);
+        List<Task> events = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            events.add(randomEvent(random, i));
+        }
+        EventIndex index = EventIndex.of(events.subList(0, 150));
+        for (Task event : events.subList(150, 300)) {
+            index = index.with((Event) event);
+        }
+        for (int i = 0; i < 100; i++) {
+            Task removed = events.remove(random.nextInt(events.size()));
+            index = index.without((Event) removed);
+        }
+        assertEquals(events.size(), index.size());
+
+        int pairs = 0;
+        for (Task task : events) {
+            List<Task> expected = new ArrayList<>();
+            for (Task other : events) {
+                if (other != task && isOverlapping((Event) task, (Event) other)) {
+                    expected.add(other);
+                }
+            }
+            List<Task> overlaps = index.overlapping((Event) task);
+            assertEquals(expected.size(), overlaps.size());
+            assertTrue(overlaps.containsAll(expected));
+            pairs += expected.size();
+        }
+        assertEquals(pairs, index.conflicts().size());
+    }
+
+    @Test
+    public void instantsAtSameTimeOverlapTest() {
+        Event first = new Event("first", "2021-08-21T09:00");
+        Event second = new Event("second", "2021-08-21T09:00");
+        Event after = new Event("after", "2021-08-21T09:00", "2021-08-21T10:00");
+        EventIndex index = EventIndex.of(List.of(first, after));
+        assertEquals(List.of(first, after), index.overlapping(second));
+        assertEquals(List.of(first, after), index.conflicts());
+    }
+
+    private static Event randomEvent(Random random, int id) {
+        LocalDateTime start = START.plusMinutes(30L * random.nextInt(200));
+        String end = random.nextInt(4) == 0 ? null : start.plusMinutes(30L * random.nextInt(8)).toString();
+        return new Event("event " + id, start.toString(), end);
+    }
+
+    private static boolean isOverlapping(Event a, Event b) {
+        LocalDateTime aEnd = a.getEndDate() == null ? a.getDate() : a.getEndDate();
+        LocalDateTime bEnd = b.getEndDate() == null ? b.getDate() : b.getEndDate();
+        return a.getDate().equals(b.getDate()) || (a.getDate().isBefore(bEnd) && b.getDate().isBefore(aEnd));
+    }
+}
@@ -1,17 +1,27 @@
 package duke;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 public class ItemsTest {
+    @TempDir
+    Path directory;
+
     @Test
     public void addTaskTest() {
         TaskList item = new TaskList();
         String msg;
         try {
-            msg = item.addItem(new Todo("abc"));
+            msg = Ui.render(item.addItem(new Todo("abc")));
         } catch (DukeException e) {
             msg = "";
         }
@@ -23,11 +33,116 @@ public class ItemsTest {
         TaskList item = new TaskList();
         String msg;
         try {
-            msg = item.addItem(new Todo("abc"));
-            msg = item.markDone(0);
+            msg = Ui.render(item.addItem(new Todo("abc")));
+            msg = Ui.render(item.markDone(0));
         } catch (DukeException e) {
             msg = "";
         }
         assertNotEquals(msg, "");
     }
+
+    @Test
+    public void snapshotUnchangedByLaterChangesTest() throws DukeException {
+        TaskList item = new TaskList(new Storage(directory.toString(), "duke.txt"));
+        item.addItem(new Todo("abc"));
+        List<Task> snapshot = item.getSnapshot();
+        item.markDone(0);
+        item.addItem(new Todo("def"));
+        assertEquals(1, snapshot.size());
+        assertEquals("[T][ ] abc", snapshot.get(0).toString());
+        assertEquals("[T][X] abc", item.getSnapshot().get(0).toString());
+    }
+
+    @Test
+    public void changesReplayToSnapshotTest() throws DukeException {
+        TaskList item = new TaskList(new Storage(directory.toString(), "duke.txt"));
+        item.addItem(new Todo("abc"));
+        List<Task> copy = new ArrayList<>();
+        item.addListener(change -> {
+            switch (change.getType()) {
+            case LOADED:
+                copy.addAll(change.getTasks());
+                break;
+            case ADDED:
+                copy.add(change.getIndex(), change.getTask());
+                break;
+            case DONE:
+                copy.set(change.getIndex(), change.getTask());
+                break;
+            default:
+                copy.remove(change.getIndex());
+            }
+        });
+        item.addItem(new Todo("def"));
+        item.addItem(new Todo("ghi"));
+        item.markDone(2);
+        item.removeItem(0);
+        assertEquals(item.getSnapshot(), copy);
+    }
+
+    @Test
+    public void changesAcrossChunksTest() throws DukeException, IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            lines.add(new Todo("task " + i).savedToString());
+        }
+        Files.write(directory.resolve("duke.txt"), lines);
+        Storage storage = new Storage(directory.toString(), "duke.txt");
+        ArrayList<Task> tasks = storage.load();
+        TaskList item = new TaskList(tasks, storage);
+        List<Task> expected = new ArrayList<>(tasks);
+        for (int i = 0; i < 600; i++) {
+            Task task = new Todo("more " + i);
+            item.addItem(task);
+            expected.add(task);
+        }
+        item.markDone(1024);
+        expected.set(1024, expected.get(1024).getDoneCopy());
+        item.removeItem(511);
+        expected.remove(511);
+        item.removeItem(2000);
+        expected.remove(2000);
+        assertEquals(expected.toString(), item.getSnapshot().toString());
+        assertEquals("[T][X] task 1024", item.getSnapshot().get(1023).toString());
+    }
+
+    @Test
+    public void findRanksBestMatchesTest() throws DukeException {
+        TaskList item = new TaskList(new Storage(directory.toString(), "duke.txt"));
+        item.addItem(new Todo("read book"));
+        item.addItem(new Todo("book"));
+        item.addItem(new Todo("watch film"));
+        item.addItem(new Todo("book club book"));
+        CommandResult result = item.find("book", 2);
+        assertEquals(List.of("[T][ ] book club book", "[T][ ] book"), List.of(
+                result.getTasks().get(0).toString(), result.getTasks().get(1).toString()));
+        assertEquals(4, result.getTaskIds()[0]);
+        assertEquals(2, result.getTaskIds()[1]);
+        assertEquals(3, item.find("book").getTasks().size());
+    }
+
+    @Test
+    public void findIgnoresCaseAndAccentsTest() throws DukeException {
+        TaskList item = new TaskList(new Storage(directory.toString(), "duke.txt"));
+        // "Zadzwoń do Łukasza" and "Kupić ŻÓŁWIA"
+        item.addItem(new Todo("Zadzwo\u0144 do \u0141ukasza"));
+        item.addItem(new Todo("Kupi\u0107 \u017b\u00d3\u0141WIA"));
+        item.addItem(new Deadline("Return Book", "2021-09-01T18:00"));
+        assertEquals(1, item.find("lukasz").getTaskIds()[0]);
+        assertEquals(2, item.find("\u017c\u00f3\u0142w").getTaskIds()[0]);
+        assertEquals(2, item.find("zolw").getTaskIds()[0]);
+        assertEquals(3, item.find("BOOK").getTaskIds()[0]);
+        assertEquals(3, item.find("sep 1").getTaskIds()[0]);
+        assertEquals(0, item.find("[T]").getTasks().size());
+    }
+
+    @Test
+    public void findFoldsCompatibilityCapitalsTest() throws DukeException {
+        TaskList item = new TaskList(new Storage(directory.toString(), "duke.txt"));
+        // "Tune to 100㎒" and "ℌilbert space"
+        item.addItem(new Todo("Tune to 100\u3392"));
+        item.addItem(new Todo("\u210Cilbert space"));
+        assertEquals(1, item.find("100mhz").getTaskIds()[0]);
+        assertEquals(2, item.find("hilbert").getTaskIds()[0]);
+    }
 }
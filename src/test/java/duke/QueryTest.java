@@ -0,0 +1,146 @@
+package duke;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QueryTest {
+    private static final LocalDateTime START = LocalDateTime.parse("2021-08-01T09:00");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void indexedQueriesMatchScanTest() throws DukeException {
+        TaskList taskList = new TaskList(new ArrayList<>(), new Storage(directory.toString(), "duke.txt"));
+        Parser parser = new Parser(taskList);
+        Random random = new Random(47);
+        addRandomTasks(taskList, random, 1500);
+        // The first query builds the indices, which then follow the changes, enough to split their chunks.
+        parser.parseInput("list where done=true").execute();
+        addRandomTasks(taskList, random, 1500);
+        for (int i = 0; i < 500; i++) {
+            taskList.markDone(random.nextInt(taskList.getSnapshot().size()));
+            taskList.removeItem(random.nextInt(taskList.getSnapshot().size()));
+        }
+
+        LocalDateTime september = LocalDateTime.parse("2021-09-01T00:00");
+        assertMatchesScan(taskList, parser, "list where type=deadline and done=false and by<2021-09-01",
+            task -> task instanceof Deadline && !task.isDone() && task.getDate().isBefore(september));
+        assertMatchesScan(taskList, parser, "list where text~\"rt r1\" explain",
+            task -> task.getDescription().contains("rt r1"));
+        assertMatchesScan(taskList, parser, "list where at>=2021-08-10 and at<=2021-08-12",
+            task -> task instanceof Event && !task.getDate().isBefore(LocalDateTime.parse("2021-08-10T00:00"))
+                    && task.getDate().isBefore(LocalDateTime.parse("2021-08-13T00:00")));
+        assertMatchesScan(taskList, parser, "list where done=true and type=todo",
+            task -> task.isDone() && task instanceof Todo);
+
+        LocalDateTime evening = LocalDateTime.parse("2021-08-10T18:00");
+        assertMatchesScan(taskList, parser, "list where by<2021-08-10 18:00",
+            task -> task instanceof Deadline && task.getDate().isBefore(evening));
+        assertMatchesScan(taskList, parser, "list where at>=2021-08-10 1800 and done=false",
+            task -> task instanceof Event && !task.getDate().isBefore(evening) && !task.isDone());
+    }
+
+    @Test
+    public void orderLimitAndExplainTest() throws DukeException {
+        TaskList taskList = new TaskList(new ArrayList<>(), new Storage(directory.toString(), "duke.txt"));
+        Parser parser = new Parser(taskList);
+        addRandomTasks(taskList, new Random(1), 1000);
+
+        CommandResult result = parser.parseInput("list where date<2021-08-03 order by date limit 5 explain").execute();
+        List<Task> tasks = result.getTasks();
+        assertTrue(tasks.size() <= 5);
+        for (int i = 1; i < tasks.size(); i++) {
+            assertTrue(!tasks.get(i).getDate().isBefore(tasks.get(i - 1).getDate()));
+        }
+        assertEquals("date index", result.getPlan().getAccessPath());
+        assertTrue(result.getPlan().getExamined() <= 5);
+
+        result = parser.parseInput("list where done=false explain").execute();
+        assertEquals("full scan", result.getPlan().getAccessPath());
+    }
+
+    @Test
+    public void textIgnoresCaseAndAccentsTest() throws DukeException {
+        TaskList taskList = new TaskList(new ArrayList<>(), new Storage(directory.toString(), "duke.txt"));
+        Parser parser = new Parser(taskList);
+        addRandomTasks(taskList, new Random(50), 1000);
+        // "Kupić ŻÓŁWIA"
+        taskList.addItem(new Todo("Kupi\u0107 \u017b\u00d3\u0141WIA"));
+        taskList.addItem(new Deadline("Monthly Report", "2021-09-01T18:00"));
+
+        CommandResult result = parser.parseInput("list where text~\"zolw\" explain").execute();
+        assertEquals("text index", result.getPlan().getAccessPath());
+        assertEquals(1001, result.getTaskIds()[0]);
+        assertEquals(1, result.getTasks().size());
+        result = parser.parseInput("list where text~\"monthly report\" explain").execute();
+        assertEquals("text index", result.getPlan().getAccessPath());
+        assertEquals(1002, result.getTaskIds()[0]);
+        assertEquals(1, result.getTasks().size());
+        assertMatchesScan(taskList, parser, "list where text~\"REPORT\"",
+            task -> task.getSearchKey().contains("report"));
+    }
+
+    @Test
+    public void textIndexFollowsRemovedWordsTest() throws DukeException {
+        TaskList taskList = new TaskList(new ArrayList<>(), new Storage(directory.toString(), "duke.txt"));
+        Parser parser = new Parser(taskList);
+        Random random = new Random(47);
+        for (int i = 0; i < 600; i++) {
+            taskList.addItem(new Todo("note" + i));
+        }
+        parser.parseInput("list where done=true").execute();
+        // Removing most of the tasks leaves most of the words unused, so the vocabulary is rebuilt.
+        for (int i = 0; i < 500; i++) {
+            taskList.removeItem(random.nextInt(taskList.getSnapshot().size()));
+        }
+        for (int i = 0; i < 300; i++) {
+            taskList.addItem(new Todo("note" + random.nextInt(1000)));
+        }
+        for (String word : List.of("note1", "note25", "note999", "e2")) {
+            assertMatchesScan(taskList, parser, "list where text~\"" + word + "\"",
+                task -> task.getSearchKey().contains(word));
+        }
+    }
+
+    private static void assertMatchesScan(TaskList taskList, Parser parser, String query, Predicate<Task> expected)
+            throws DukeException {
+        List<Task> snapshot = taskList.getSnapshot();
+        List<Integer> expectedIds = new ArrayList<>();
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (expected.test(snapshot.get(i))) {
+                expectedIds.add(i + 1);
+            }
+        }
+        int[] ids = parser.parseInput(query).execute().getTaskIds();
+        assertEquals(expectedIds.toString(), Arrays.toString(ids), query);
+    }
+
+    private static void addRandomTasks(TaskList taskList, Random random, int count) throws DukeException {
+        for (int i = 0; i < count; i++) {
+            String description = "report r" + random.nextInt(30);
+            String date = START.plusHours(random.nextInt(24 * 60)).toString();
+            switch (random.nextInt(3)) {
+            case 0:
+                taskList.addItem(new Todo(description));
+                break;
+            case 1:
+                taskList.addItem(new Deadline(description, date));
+                break;
+            default:
+                taskList.addItem(new Event(description, date));
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package duke;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StorageTest {
+    private static final List<String> LINES = List.of(
+            "T | 0 | read book",
+            "D | 1 | return book | 2021-08-21T18:00",
+            "E | 0 | project meeting | 2021-08-21T09:30",
+            "E | 1 | workshop | 2021-08-22T09:00 | 2021-08-22T12:00");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void snapshotLoadsSameTasksTest() throws IOException, DukeException {
+        Files.write(directory.resolve("duke.txt"), LINES, StandardCharsets.UTF_8);
+        Storage storage = new Storage(directory.toString(), "duke.txt");
+        assertTrue(storage.saveSnapshot(storage.load()));
+
+        Storage snapshotStorage = new Storage(directory.toString(), "duke.txt");
+        List<Task> tasks = snapshotStorage.load();
+        assertEquals(LINES, savedLines(tasks));
+        assertEquals("[D][X] return book (by: Aug 21 2021 18:00)", tasks.get(1).toString());
+        assertEquals(LINES.get(2), snapshotStorage.getFileLine(2));
+    }
+
+    @Test
+    public void changedFileIgnoresSnapshotTest() throws IOException, DukeException {
+        Path file = directory.resolve("duke.txt");
+        Files.write(file, LINES, StandardCharsets.UTF_8);
+        Storage storage = new Storage(directory.toString(), "duke.txt");
+        assertTrue(storage.saveSnapshot(storage.load()));
+
+        List<String> changed = List.of(LINES.get(0), "T | 1 | edited by hand");
+        Files.write(file, changed, StandardCharsets.UTF_8);
+        assertEquals(changed, savedLines(new Storage(directory.toString(), "duke.txt").load()));
+    }
+
+    private static List<String> savedLines(List<Task> tasks) {
+        List<String> lines = new ArrayList<>();
+        for (Task task : tasks) {
+            lines.add(task.savedToString());
+        }
+        return lines;
+    }
+}
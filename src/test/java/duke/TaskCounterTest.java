@@ -0,0 +1,65 @@
+package duke;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import duke.query.Condition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TaskCounterTest {
+    @Test
+    public void countsFollowChangesAndTimeTest() {
+        MovingClock clock = new MovingClock(Instant.parse("2021-08-21T12:00:00Z"));
+        TaskCounter counter = new TaskCounter(clock);
+        Task past = new Deadline("return book", "2021-08-20T18:00");
+        Task soon = new Deadline("submit essay", "2021-08-22T09:00");
+        Task later = new Deadline("pay rent", "2021-09-01T09:00");
+        counter.accept(TaskChange.loaded(List.of(new Todo("read book"), past, soon, later)));
+
+        TaskSummary summary = counter.summarize();
+        assertEquals(4, summary.getTotal());
+        assertEquals(3, summary.getOpenCount(Condition.Type.DEADLINE));
+        assertEquals(1, summary.getOverdue());
+
+        clock.now = Instant.parse("2021-08-23T12:00:00Z");
+        assertEquals(2, counter.summarize().getOverdue());
+
+        counter.accept(TaskChange.done(2, soon.getDoneCopy(), soon));
+        counter.accept(TaskChange.removed(1, past));
+        counter.accept(TaskChange.added(2, new Event("talk", "2021-08-21T09:00")));
+        summary = counter.summarize();
+        assertEquals(4, summary.getTotal());
+        assertEquals(3, summary.getOpenTotal());
+        assertEquals(1, summary.getOpenCount(Condition.Type.DEADLINE));
+        assertEquals(0, summary.getOverdue());
+    }
+
+    private static class MovingClock extends Clock {
+        private Instant now;
+
+        MovingClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package duke.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimingWheelTest {
+    @Test
+    public void expiresOnTimeTest() {
+        long start = 1_000_000;
+        TimingWheel<Long> wheel = new TimingWheel<>(1, start);
+        Random random = new Random(7);
+        int count = 5000;
+        for (int i = 0; i < count; i++) {
+            // Spread over every level of the wheel.
+            long deadline = start + 1 + (long) Math.pow(2, random.nextDouble() * 26);
+            wheel.schedule(deadline, deadline);
+        }
+
+        long now = start;
+        int expired = 0;
+        while (expired < count) {
+            long previous = now;
+            now += 1 + random.nextInt(1 << 16);
+            for (long deadline : wheel.advanceTo(now)) {
+                assertTrue(previous < deadline && deadline <= now);
+                expired++;
+            }
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void expiresExactlyAtDeadlineTest() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 0);
+        wheel.schedule("a", 5000);
+        wheel.schedule("b", 70_000);
+        wheel.schedule("c", 10_000_000);
+        assertEquals(List.of(), wheel.advanceTo(4999));
+        assertEquals(List.of("a"), wheel.advanceTo(5000));
+        assertEquals(List.of(), wheel.advanceTo(69_999));
+        assertEquals(List.of("b"), wheel.advanceTo(70_000));
+        assertEquals(List.of(), wheel.advanceTo(9_999_999));
+        assertEquals(List.of("c"), wheel.advanceTo(10_000_000));
+    }
+
+    @Test
+    public void cancelledNeverExpiresTest() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 0);
+        TimingWheel.Timeout<String> timeout = wheel.schedule("a", 100_000);
+        wheel.schedule("b", 100_000);
+        assertTrue(wheel.cancel(timeout));
+        assertFalse(wheel.cancel(timeout));
+        assertEquals(List.of("b"), wheel.advanceTo(200_000));
+    }
+}
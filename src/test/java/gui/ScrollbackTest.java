@@ -0,0 +1,83 @@
+package gui;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ScrollbackTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void windowStaysBoundedTest() throws IOException {
+        Scrollback scrollback = newScrollback();
+        for (int i = 0; i < 100; i++) {
+            say(scrollback, "todo " + i, "added " + i);
+        }
+        assertEquals(10, scrollback.getWindow().size());
+        assertEquals("added 99", texts(scrollback).get(9));
+    }
+
+    @Test
+    public void pageBackAndForwardTest() throws IOException {
+        Scrollback scrollback = newScrollback();
+        for (int i = 0; i < 20; i++) {
+            say(scrollback, "todo " + i, "added " + i);
+        }
+        assertEquals(4, scrollback.pageBack());
+        assertFalse(scrollback.isAtTail());
+        assertEquals("todo 13", texts(scrollback).get(0));
+        assertEquals(10, scrollback.getWindow().size());
+
+        while (!scrollback.isAtTail()) {
+            scrollback.pageForward();
+        }
+        assertEquals("added 19", texts(scrollback).get(scrollback.getWindow().size() - 1));
+    }
+
+    @Test
+    public void pendingMessagesKeptWhilePagingTest() throws IOException {
+        Scrollback scrollback = newScrollback();
+        for (int i = 0; i < 20; i++) {
+            say(scrollback, "todo " + i, "added " + i);
+        }
+        Message request = Message.fromUser("list");
+        Message pending = Message.pending();
+        scrollback.show(request, pending);
+        scrollback.pageBack();
+        assertFalse(scrollback.getWindow().contains(pending));
+
+        scrollback.settle(List.of(request, pending), scrollback.write(request, Message.fromDuke("the list")));
+        scrollback.show(Message.fromUser("bye"));
+        assertTrue(scrollback.isAtTail());
+        List<String> texts = texts(scrollback);
+        assertEquals(List.of("list", "the list", "bye"), texts.subList(texts.size() - 3, texts.size()));
+    }
+
+    private Scrollback newScrollback() throws IOException {
+        return new Scrollback(new ConversationHistory(directory.resolve("history.dat")), 10, 4);
+    }
+
+    private static void say(Scrollback scrollback, String input, String response) throws IOException {
+        Message request = Message.fromUser(input);
+        Message pending = Message.pending();
+        scrollback.show(request, pending);
+        scrollback.settle(List.of(request, pending), scrollback.write(request, Message.fromDuke(response)));
+    }
+
+    private static List<String> texts(Scrollback scrollback) {
+        List<String> texts = new ArrayList<>();
+        for (Message message : scrollback.getWindow()) {
+            texts.add(message.getText());
+        }
+        return texts;
+    }
+}